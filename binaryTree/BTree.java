@@ -0,0 +1,312 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for an ordered set stored as a B+-tree, with the same operations as
+ * Tree.
+ *
+ * Every node holds up to fanout - 1 sorted keys in one array, so a search
+ * touches only log_fanout(n) nodes. All elements are stored in the leaves,
+ * which are linked from left to right, so an in-order scan walks the leaf
+ * arrays sequentially instead of following one pointer per element.
+ *
+ * @author Erik Vanhainen
+ * @version 11-02-2019
+ */
+class BTree<T extends Comparable<T>> implements Iterable<T> {
+    private static final int DEFAULT_FANOUT = 64;
+
+    private final int fanout;
+    private Node root;
+    private Node firstLeaf;
+    private int size;
+    private int height;
+    private int leaves;
+    private final ArrayList<Node> path = new ArrayList<>(); // Reused by insert.
+
+    /**
+     * Class for the nodes of the tree. A leaf has no children and links to
+     * the next leaf; an internal node has count + 1 children, where child i
+     * holds the keys between separator keys i - 1 and i.
+     */
+    private static class Node {
+        final Object[] keys;    // One extra slot, for overflow before a split.
+        final Node[] children;  // null in a leaf.
+        int count;
+        Node next;              // Next leaf, null in an internal node.
+
+        Node(int fanout, boolean leaf) {
+            keys = new Object[fanout];
+            children = leaf ? null : new Node[fanout + 1];
+            count = 0;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * BTree constructor, with a fanout of 64.
+     **/
+    public BTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * BTree constructor.
+     * @param fanout the maximum number of children of a node.
+     * @throws IllegalArgumentException if fanout < 3.
+     **/
+    public BTree(int fanout) {
+        if(fanout < 3) {
+            throw new IllegalArgumentException(
+                "fanout must be at least 3! Provided: " + fanout);
+        }
+        this.fanout = fanout;
+        root = null;
+        firstLeaf = null;
+        size = 0;
+        height = 0;
+        leaves = 0;
+    }
+
+    /**
+     * Searches for a element by value iterative.
+     * @param elem the value of the element.
+     * @return true if element is in tree, false otherwise.
+     **/
+    public boolean search(T elem) {
+        if(root == null) {
+            return false;
+        }
+        Node current = root;
+        while(!current.isLeaf()) {
+            current = current.children[childIndex(current, elem)];
+        }
+        return indexOf(current, elem) >= 0;
+    }
+
+    /**
+     * Inserts a element in correct order iterative. Nodes that overflow on
+     * the way back up are split in two.
+     * @param elem the value of the element.
+     * @return true if no such element already exists, false otherwise.
+     **/
+    public boolean insert(T elem) {
+        if(root == null) {
+            root = new Node(fanout, true);
+            firstLeaf = root;
+            leaves = 1;
+        }
+        path.clear();
+        Node current = root;
+        while(!current.isLeaf()) {
+            path.add(current);
+            current = current.children[childIndex(current, elem)];
+        }
+        int index = indexOf(current, elem);
+        if(index >= 0) {
+            return false;
+        }
+        insertAt(current, -index - 1, elem, null);
+        size++;
+
+        // Split overflowing nodes from the leaf up.
+        Node node = current;
+        for(int i = path.size() - 1; node.count == fanout; i--) {
+            Node right = split(node);
+            Object separator;
+            if(node.isLeaf()) {
+                separator = right.keys[0];
+            } else {
+                // The middle key moves up instead of staying in a child.
+                separator = node.keys[node.count - 1];
+                node.keys[node.count - 1] = null;
+                node.count--;
+            }
+            if(i < 0) {
+                Node newRoot = new Node(fanout, false);
+                newRoot.keys[0] = separator;
+                newRoot.children[0] = node;
+                newRoot.children[1] = right;
+                newRoot.count = 1;
+                root = newRoot;
+                height++;
+                break;
+            }
+            Node parent = path.get(i);
+            insertAt(parent, childPosition(parent, node), separator, right);
+            node = parent;
+        }
+        return true;
+    }
+
+    /**
+     * Size of the tree.
+     * @return number of elements.
+     **/
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Height of the tree.
+     * @return number of levels below the root, which is the same for every
+     * leaf.
+     **/
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Couting number of leaf nodes, which hold all the elements.
+     * @return number of leaves.
+     **/
+    public int leaves() {
+        return leaves;
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order, following
+     * the links between the leaves.
+     * @return an iterator over the elements.
+     **/
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node leaf = firstLeaf;
+            private int index = 0;
+
+            public boolean hasNext() {
+                return leaf != null && index < leaf.count;
+            }
+
+            public T next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T elem = key(leaf, index++);
+                if(index == leaf.count) {
+                    leaf = leaf.next;
+                    index = 0;
+                }
+                return elem;
+            }
+        };
+    }
+
+    /**
+     * Computes a string representation of the tree.
+     * @return string representation of the tree.
+     **/
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for(Node leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for(int i = 0; i < leaf.count; i++) {
+                if(!first) {
+                    sb.append(", ");
+                }
+                sb.append(leaf.keys[i]);
+                first = false;
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Moves the upper half of a full node to a new node to its right.
+     * @param node a node with fanout keys.
+     * @return the new right node.
+     **/
+    private Node split(Node node) {
+        Node right = new Node(fanout, node.isLeaf());
+        int keep = node.isLeaf() ? node.count / 2 : (node.count + 1) / 2;
+        int moved = node.count - keep;
+        System.arraycopy(node.keys, keep, right.keys, 0, moved);
+        Arrays.fill(node.keys, keep, node.count, null);
+        if(node.isLeaf()) {
+            right.next = node.next;
+            node.next = right;
+            leaves++;
+        } else {
+            System.arraycopy(node.children, keep, right.children, 0, moved + 1);
+            Arrays.fill(node.children, keep, node.count + 1, null);
+        }
+        right.count = moved;
+        node.count = keep;
+        return right;
+    }
+
+    /**
+     * Inserts a key at the given position of a node, and in an internal
+     * node the child to the right of it.
+     **/
+    private static void insertAt(Node node, int index, Object key, Node rightChild) {
+        System.arraycopy(node.keys, index, node.keys, index + 1, node.count - index);
+        node.keys[index] = key;
+        if(rightChild != null) {
+            System.arraycopy(node.children, index + 1, node.children, index + 2,
+                node.count - index);
+            node.children[index + 1] = rightChild;
+        }
+        node.count++;
+    }
+
+    /**
+     * @return the position of child among the children of parent.
+     **/
+    private static int childPosition(Node parent, Node child) {
+        int i = 0;
+        while(parent.children[i] != child) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Finds the child of an internal node whose keys include elem, which is
+     * the number of separators that are less than or equal to elem.
+     **/
+    private int childIndex(Node node, T elem) {
+        int lo = 0;
+        int hi = node.count;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(key(node, mid).compareTo(elem) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Binary search among the keys of a node.
+     * @return the index of elem, or (-(insertion point) - 1) if not found.
+     **/
+    private int indexOf(Node node, T elem) {
+        int lo = 0;
+        int hi = node.count - 1;
+        while(lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = key(node, mid).compareTo(elem);
+            if(cmp == 0) {
+                return mid;
+            } else if(cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return -lo - 1;
+    }
+
+    @SuppressWarnings("unchecked") // only elements of type T are stored
+    private T key(Node node, int index) {
+        return (T) node.keys[index];
+    }
+}
@@ -0,0 +1,177 @@
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for a B+-tree.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-11
+ */
+public class BTreeTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(5);
+
+    // A small fanout, so that the test data spans several levels.
+    private static final int FANOUT = 3;
+
+    BTree<Integer> tree;
+    int[] elementsInTree;
+    int[] elementsNotInTree;
+
+    @Before
+    public void setUp() {
+        tree = new BTree<>(FANOUT);
+        elementsInTree = new int[] {8, 10, 14, 13, 3, 1, 6, 4, 7};
+        for (int elem : elementsInTree) {
+            tree.insert(elem);
+        }
+        elementsNotInTree = new int[] {34, -3, -10, 12, 74, 5};
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorExceptionWhenFanoutIsTooSmall() {
+        new BTree<Integer>(2);
+    }
+
+    @Test
+    public void insertIsTrueWhenElementIsNotInTree() {
+        for (int elem : elementsNotInTree) {
+            assertTrue(tree.insert(elem));
+        }
+    }
+
+    @Test
+    public void insertIsFalseForDuplicates() {
+        for (int elem : elementsInTree) {
+            assertFalse(tree.insert(elem));
+        }
+        assertThat(tree.size(), equalTo(elementsInTree.length));
+    }
+
+    @Test
+    public void searchIsTrueForInsertedElements() {
+        for (int elem : elementsInTree) {
+            assertTrue(tree.search(elem));
+        }
+    }
+
+    @Test
+    public void searchIsFalseForNonInsertedElements() {
+        for (int elem : elementsNotInTree) {
+            assertFalse(tree.search(elem));
+        }
+    }
+
+    @Test
+    public void searchIsFalseWhenTreeIsEmpty() {
+        BTree<Integer> emptyTree = new BTree<>(FANOUT);
+        for (int elem : elementsInTree) {
+            assertFalse(emptyTree.search(elem));
+        }
+    }
+
+    @Test
+    public void insertUniqueElementsIncrementsSize() {
+        BTree<Integer> tree = new BTree<>(FANOUT);
+        int expectedSize = 0;
+        for (int elem : elementsInTree) {
+            expectedSize++;
+            tree.insert(elem);
+            assertThat(tree.size(), equalTo(expectedSize));
+        }
+    }
+
+    @Test
+    public void heightAndLeavesAreZeroWhenTreeIsEmpty() {
+        BTree<Integer> emptyTree = new BTree<>(FANOUT);
+        assertThat(emptyTree.height(), equalTo(0));
+        assertThat(emptyTree.leaves(), equalTo(0));
+    }
+
+    @Test
+    public void heightIsZeroAndLeavesIsOneWhenRootIsALeaf() {
+        BTree<Integer> tree = new BTree<>(FANOUT);
+        tree.insert(1338);
+        tree.insert(1337);
+        assertThat(tree.height(), equalTo(0));
+        assertThat(tree.leaves(), equalTo(1));
+    }
+
+    @Test
+    public void heightIsLogarithmicWhenElementsWereInsertedInAscendingOrder() {
+        // Every internal node has at least 2 children, so the height is at
+        // most log2 of the number of leaves
+        BTree<Integer> tree = new BTree<>(FANOUT);
+        int numElements = 10000;
+        for (int i = 0; i < numElements; i++) {
+            tree.insert(i);
+        }
+        double log2Leaves = Math.log(tree.leaves()) / Math.log(2);
+        assertTrue(tree.height() <= log2Leaves);
+        assertThat(tree.size(), equalTo(numElements));
+    }
+
+    @Test
+    public void iteratorReturnsElementsInAscendingOrder() {
+        // Arrange
+        Arrays.sort(elementsInTree);
+        List<Integer> expected = new ArrayList<>();
+        for (int elem : elementsInTree) {
+            expected.add(elem);
+        }
+
+        // Act
+        List<Integer> actual = new ArrayList<>();
+        for (int elem : tree) {
+            actual.add(elem);
+        }
+
+        // Assert
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void toStringIsBracketsWhenTreeIsEmpty() {
+        assertThat(new BTree<Integer>(FANOUT).toString(), equalTo("[]"));
+    }
+
+    @Test
+    public void toStringIsEqualToSortedArrayRepresentationWhenTreeIsNotEmpty() {
+        Arrays.sort(elementsInTree);
+        assertThat(tree.toString(), equalTo(Arrays.toString(elementsInTree)));
+    }
+
+    @Test
+    public void toStringSeparatesEmptyStringElements() {
+        BTree<String> stringTree = new BTree<>(FANOUT);
+        stringTree.insert("a");
+        stringTree.insert("");
+        stringTree.insert("b");
+        assertThat(stringTree.toString(), equalTo("[, a, b]"));
+    }
+
+    @Test
+    public void toStringIsSortedForEveryFanout() {
+        IntStream
+            .range(FANOUT, 10)
+            .forEach(fanout -> {
+                BTree<Integer> tree = new BTree<>(fanout);
+                for (int elem : elementsInTree) {
+                    tree.insert(elem);
+                }
+                int[] sorted = elementsInTree.clone();
+                Arrays.sort(sorted);
+                assertThat(tree.toString(), equalTo(Arrays.toString(sorted)));
+            });
+    }
+}
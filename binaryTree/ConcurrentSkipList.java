@@ -0,0 +1,194 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Class for a thread-safe ordered set stored as a lock-free skip list, with
+ * the same insert, search and size operations as Tree.
+ *
+ * Every element is stored in a node on the bottom level, and a random half of
+ * the nodes on each level are also linked on the level above it, so a search
+ * skips over most nodes in O(log n) expected steps, like in a balanced tree.
+ *
+ * Elements are never removed, so nodes are only ever linked in. An insert
+ * links its node on the bottom level with a single compare-and-set, which is
+ * the point where the element becomes part of the set, and then links it on
+ * the higher levels one by one, retrying if another thread got there first.
+ * Searches only read links and never block or retry.
+ *
+ * The size is an atomic counter incremented after the bottom-level link, so
+ * it may lag behind an insert that is in progress.
+ *
+ * @author Erik Vanhainen
+ * @version 12-02-2019
+ */
+class ConcurrentSkipList<T extends Comparable<T>> implements Iterable<T> {
+    private static final int MAX_LEVEL = 32;
+
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Class for the nodes of the list. Only the links may change after
+     * creation; link i is the next node on level i.
+     */
+    private static class Node<T> {
+        final T data;
+        final AtomicReferenceArray<Node<T>> next;
+
+        Node(T data, int levels) {
+            this.data = data;
+            this.next = new AtomicReferenceArray<>(levels);
+        }
+
+        int levels() {
+            return next.length();
+        }
+    }
+
+    /**
+     * Searches for a element by value iterative, without locking.
+     * @param elem the value of the element.
+     * @return true if element is in the list, false otherwise.
+     **/
+    public boolean search(T elem) {
+        Node<T> pred = head;
+        for(int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<T> current = pred.next.get(level);
+            while(current != null) {
+                int cmp = current.data.compareTo(elem);
+                if(cmp == 0) {
+                    return true;
+                } else if(cmp > 0) {
+                    break;
+                }
+                pred = current;
+                current = pred.next.get(level);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts a element in correct order iterative. Safe to call from
+     * several threads at once; of concurrent inserts of equal elements,
+     * exactly one succeeds.
+     * @param elem the value of the element.
+     * @return true if no such element already exists, false otherwise.
+     **/
+    public boolean insert(T elem) {
+        @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL];
+        @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+        Node<T>[] succs = (Node<T>[]) new Node[MAX_LEVEL];
+        Node<T> node = null;
+        while(true) {
+            if(find(elem, preds, succs)) {
+                return false;
+            }
+            if(node == null) {
+                node = new Node<>(elem, randomLevels());
+            }
+            for(int level = 0; level < node.levels(); level++) {
+                node.next.set(level, succs[level]);
+            }
+            if(preds[0].next.compareAndSet(0, succs[0], node)) {
+                break;
+            }
+        }
+        size.incrementAndGet();
+
+        // The element is in the set; the higher links only speed up searches.
+        for(int level = 1; level < node.levels(); level++) {
+            while(!preds[level].next.compareAndSet(level, succs[level], node)) {
+                find(elem, preds, succs);
+                node.next.set(level, succs[level]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Size of the list.
+     * @return number of elements.
+     **/
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order. It never
+     * throws ConcurrentModificationException, and sees some of the elements
+     * inserted after it was created.
+     * @return an iterator over the elements.
+     **/
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = head.next.get(0);
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public T next() {
+                if(next == null) {
+                    throw new NoSuchElementException();
+                }
+                T elem = next.data;
+                next = next.next.get(0);
+                return elem;
+            }
+        };
+    }
+
+    /**
+     * Computes a string representation of the list.
+     * @return string representation of the list.
+     **/
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for(T elem : this) {
+            if(!first) {
+                sb.append(", ");
+            }
+            sb.append(elem);
+            first = false;
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Finds the last node before elem and the first node not before it on
+     * every level.
+     * @return true if elem is in the list.
+     **/
+    private boolean find(T elem, Node<T>[] preds, Node<T>[] succs) {
+        Node<T> pred = head;
+        int cmp = 1;
+        for(int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node<T> current = pred.next.get(level);
+            while(current != null && (cmp = current.data.compareTo(elem)) < 0) {
+                pred = current;
+                current = pred.next.get(level);
+            }
+            if(current == null) {
+                cmp = 1;
+            }
+            preds[level] = pred;
+            succs[level] = current;
+        }
+        return cmp == 0;
+    }
+
+    /**
+     * Draws the number of levels of a new node, where each extra level has
+     * probability 1/2.
+     **/
+    private static int randomLevels() {
+        int random = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(random) + 1, MAX_LEVEL);
+    }
+}
@@ -0,0 +1,225 @@
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Test class for a concurrent skip list. Runs the basic ordered set tests
+ * single-threaded, as well as stress tests with several threads using the
+ * same list.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-12
+ */
+public class ConcurrentSkipListTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(5);
+
+    private static final int NUM_THREADS = 8;
+    private static final int ELEMENTS_PER_THREAD = 20000;
+
+    ConcurrentSkipList<Integer> list;
+    int[] elementsInList;
+    int[] elementsNotInList;
+
+    @Before
+    public void setUp() {
+        list = new ConcurrentSkipList<>();
+        elementsInList = new int[] {8, 10, 14, 13, 3, 1, 6, 4, 7};
+        for (int elem : elementsInList) {
+            list.insert(elem);
+        }
+        elementsNotInList = new int[] {34, -3, -10, 12, 74, 5};
+    }
+
+    @Test
+    public void insertIsTrueWhenElementIsNotInList() {
+        for (int elem : elementsNotInList) {
+            assertTrue(list.insert(elem));
+        }
+    }
+
+    @Test
+    public void insertIsFalseForDuplicates() {
+        for (int elem : elementsInList) {
+            assertFalse(list.insert(elem));
+        }
+        assertThat(list.size(), equalTo(elementsInList.length));
+    }
+
+    @Test
+    public void searchIsTrueForInsertedElements() {
+        for (int elem : elementsInList) {
+            assertTrue(list.search(elem));
+        }
+    }
+
+    @Test
+    public void searchIsFalseForNonInsertedElements() {
+        for (int elem : elementsNotInList) {
+            assertFalse(list.search(elem));
+        }
+    }
+
+    @Test
+    public void searchIsFalseWhenListIsEmpty() {
+        ConcurrentSkipList<Integer> emptyList = new ConcurrentSkipList<>();
+        for (int elem : elementsInList) {
+            assertFalse(emptyList.search(elem));
+        }
+        assertThat(emptyList.size(), equalTo(0));
+        assertThat(emptyList.toString(), equalTo("[]"));
+    }
+
+    @Test
+    public void toStringIsEqualToSortedArrayRepresentation() {
+        Arrays.sort(elementsInList);
+        assertThat(list.toString(), equalTo(Arrays.toString(elementsInList)));
+    }
+
+    @Test
+    public void toStringSeparatesEmptyStringElements() {
+        ConcurrentSkipList<String> stringList = new ConcurrentSkipList<>();
+        stringList.insert("a");
+        stringList.insert("");
+        stringList.insert("b");
+        assertThat(stringList.toString(), equalTo("[, a, b]"));
+    }
+
+    @Test
+    public void concurrentInsertsOfSameElementsSucceedOncePerElement() throws Exception {
+        // Arrange
+        // Every thread inserts every element, in a different order
+        ConcurrentSkipList<Integer> list = new ConcurrentSkipList<>();
+        AtomicIntegerArray successfulInserts = new AtomicIntegerArray(ELEMENTS_PER_THREAD);
+
+        // Act
+        runConcurrently(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                int elem = (i * (2 * thread + 1)) % ELEMENTS_PER_THREAD;
+                if (list.insert(elem)) {
+                    successfulInserts.incrementAndGet(elem);
+                }
+            }
+        });
+
+        // Assert
+        for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+            assertThat(successfulInserts.get(i), equalTo(1));
+        }
+        assertThat(list.size(), equalTo(ELEMENTS_PER_THREAD));
+        int expected = 0;
+        for (int elem : list) {
+            assertThat(elem, equalTo(expected++));
+        }
+        assertThat(expected, equalTo(ELEMENTS_PER_THREAD));
+    }
+
+    @Test
+    public void concurrentInsertsOfDisjointElementsAreAllKept() throws Exception {
+        // Arrange
+        // Interleaved elements, so that the threads insert next to each other
+        ConcurrentSkipList<Integer> list = new ConcurrentSkipList<>();
+
+        // Act
+        runConcurrently(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                assertTrue(list.insert(i * NUM_THREADS + thread));
+            }
+        });
+
+        // Assert
+        assertThat(list.size(), equalTo(NUM_THREADS * ELEMENTS_PER_THREAD));
+        for (int i = 0; i < NUM_THREADS * ELEMENTS_PER_THREAD; i++) {
+            assertThat(list.search(i), is(true));
+        }
+    }
+
+    @Test
+    public void searchFindsEveryElementWhoseInsertHasReturned() throws Exception {
+        // Arrange
+        // Writers publish how far they have inserted after each insert
+        // returns, and readers check that everything up to there is found
+        // and stays found.
+        ConcurrentSkipList<Integer> list = new ConcurrentSkipList<>();
+        int writers = NUM_THREADS / 2;
+        AtomicIntegerArray inserted = new AtomicIntegerArray(writers);
+        AtomicBoolean missing = new AtomicBoolean(false);
+
+        // Act
+        runConcurrently(thread -> {
+            if (thread < writers) {
+                for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                    list.insert(i * writers + thread);
+                    inserted.set(thread, i + 1);
+                }
+            } else {
+                int writer = thread - writers;
+                int checked = 0;
+                while (checked < ELEMENTS_PER_THREAD) {
+                    int upTo = inserted.get(writer);
+                    if (upTo > 0 && !list.search((upTo - 1) * writers + writer)) {
+                        missing.set(true);
+                    }
+                    if (checked < upTo) {
+                        if (!list.search(checked * writers + writer)) {
+                            missing.set(true);
+                        }
+                        checked++;
+                    }
+                }
+            }
+        });
+
+        // Assert
+        assertThat(missing.get(), is(false));
+        assertThat(list.size(), equalTo(writers * ELEMENTS_PER_THREAD));
+    }
+
+    /**
+     * Runs the task in NUM_THREADS threads that start at the same time, and
+     * waits for all of them. Errors thrown in a thread are rethrown.
+     *
+     * @param task The work of one thread, given the index of the thread.
+     */
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError(errors.get(0));
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
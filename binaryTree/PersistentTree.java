@@ -0,0 +1,215 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for an immutable (persistent) ordered set stored as an AVL tree,
+ * with the same operations as Tree.
+ *
+ * Nodes are never changed after creation. Insert copies only the nodes on
+ * the path from the root to the new element and returns a new tree sharing
+ * every other subtree with the old one, so it costs O(log n) time and space,
+ * and every earlier version stays valid. A tree is therefore its own
+ * snapshot: readers can keep searching and iterating a version without any
+ * locking while writers derive new versions from it.
+ *
+ * @author Erik Vanhainen
+ * @version 12-02-2019
+ */
+final class PersistentTree<T extends Comparable<T>> implements Iterable<T> {
+    private static final PersistentTree<?> EMPTY = new PersistentTree<>(null);
+
+    private final Node<T> root;
+
+    /**
+     * Class for the nodes of the tree. Every node caches the height, size
+     * and number of leaves of its subtree.
+     */
+    private static final class Node<T> {
+        final T data;
+        final Node<T> LC;
+        final Node<T> RC;
+        final int height;   // Height of the subtree, 0 for a leaf.
+        final int size;     // Number of nodes in the subtree.
+        final int leaves;   // Number of nodes without children in the subtree.
+
+        Node(T data, Node<T> LC, Node<T> RC) {
+            this.data = data;
+            this.LC = LC;
+            this.RC = RC;
+            height = Math.max(height(LC), height(RC)) + 1;
+            size = size(LC) + size(RC) + 1;
+            leaves = LC == null && RC == null ? 1 : leaves(LC) + leaves(RC);
+        }
+    }
+
+    private PersistentTree(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty tree.
+     * @return a tree without elements.
+     **/
+    @SuppressWarnings("unchecked") // the empty tree holds no elements
+    public static <T extends Comparable<T>> PersistentTree<T> empty() {
+        return (PersistentTree<T>) EMPTY;
+    }
+
+    /**
+     * Searches for a element by value iterative.
+     * @param elem the value of the element.
+     * @return true if element is in tree, false otherwise.
+     **/
+    public boolean search(T elem) {
+        Node<T> current = root;
+        while(current != null) {
+            int cmp = elem.compareTo(current.data);
+            if(cmp == 0) {
+                return true;
+            }
+            current = cmp < 0 ? current.LC : current.RC;
+        }
+        return false;
+    }
+
+    /**
+     * Inserts a element in correct order, leaving this tree unchanged.
+     * @param elem the value of the element.
+     * @return a tree with the elements of this tree and elem, which is this
+     * tree if elem is already in it.
+     **/
+    public PersistentTree<T> insert(T elem) {
+        Node<T> newRoot = insert(root, elem);
+        return newRoot == root ? this : new PersistentTree<>(newRoot);
+    }
+
+    /**
+     * Size of the tree.
+     * @return number of elements.
+     **/
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Height of the tree.
+     * @return maximum number of "layers" in the tree.
+     **/
+    public int height() {
+        return root == null ? 0 : root.height;
+    }
+
+    /**
+     * Couting number of elements at the bottom of the tree (leaves).
+     * @return number of leaves.
+     **/
+    public int leaves() {
+        return leaves(root);
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order. The tree
+     * cannot change, so the iterator needs no modification checks.
+     * @return an iterator over the elements.
+     **/
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+            {
+                pushLeft(root);
+            }
+
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            public T next() {
+                if(stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = stack.pop();
+                pushLeft(node.RC);
+                return node.data;
+            }
+
+            private void pushLeft(Node<T> node) {
+                for(; node != null; node = node.LC) {
+                    stack.push(node);
+                }
+            }
+        };
+    }
+
+    /**
+     * Computes a string representation of the tree.
+     * @return string representation of the tree.
+     **/
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for(T elem : this) {
+            if(!first) {
+                sb.append(", ");
+            }
+            sb.append(elem);
+            first = false;
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Inserts a element into a subtree by copying the path down to it. The
+     * recursion is as deep as the tree, which is O(log n).
+     * @return the new subtree, or node itself if elem is already in it.
+     **/
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, T elem) {
+        if(node == null) {
+            return new Node<>(elem, null, null);
+        }
+        int cmp = elem.compareTo(node.data);
+        if(cmp < 0) {
+            Node<T> left = insert(node.LC, elem);
+            return left == node.LC ? node : balance(node.data, left, node.RC);
+        } else if(cmp > 0) {
+            Node<T> right = insert(node.RC, elem);
+            return right == node.RC ? node : balance(node.data, node.LC, right);
+        }
+        return node;
+    }
+
+    /**
+     * Creates a node from subtrees whose heights differ by at most two,
+     * rotating new nodes so that they differ by at most one.
+     **/
+    private static <T> Node<T> balance(T data, Node<T> left, Node<T> right) {
+        if(height(left) > height(right) + 1) {
+            if(height(left.LC) >= height(left.RC)) {
+                return new Node<>(left.data, left.LC, new Node<>(data, left.RC, right));
+            }
+            Node<T> middle = left.RC;
+            return new Node<>(middle.data, new Node<>(left.data, left.LC, middle.LC),
+                new Node<>(data, middle.RC, right));
+        } else if(height(right) > height(left) + 1) {
+            if(height(right.RC) >= height(right.LC)) {
+                return new Node<>(right.data, new Node<>(data, left, right.LC), right.RC);
+            }
+            Node<T> middle = right.LC;
+            return new Node<>(middle.data, new Node<>(data, left, middle.LC),
+                new Node<>(right.data, middle.RC, right.RC));
+        }
+        return new Node<>(data, left, right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int leaves(Node<?> node) {
+        return node == null ? 0 : node.leaves;
+    }
+}
@@ -0,0 +1,162 @@
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Test class for a persistent tree.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-12
+ */
+public class PersistentTreeTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(5);
+
+    PersistentTree<Integer> tree;
+    int[] elementsInTree;
+    int[] elementsNotInTree;
+
+    @Before
+    public void setUp() {
+        tree = PersistentTree.empty();
+        elementsInTree = new int[] {8, 10, 14, 13, 3, 1, 6, 4, 7};
+        for (int elem : elementsInTree) {
+            tree = tree.insert(elem);
+        }
+        elementsNotInTree = new int[] {34, -3, -10, 12, 74, 5};
+    }
+
+    @Test
+    public void insertIsNewTreeWithElement() {
+        for (int elem : elementsNotInTree) {
+            PersistentTree<Integer> newTree = tree.insert(elem);
+            assertThat(newTree, not(sameInstance(tree)));
+            assertTrue(newTree.search(elem));
+            assertThat(newTree.size(), equalTo(tree.size() + 1));
+        }
+    }
+
+    @Test
+    public void insertOfDuplicateIsSameTree() {
+        for (int elem : elementsInTree) {
+            assertThat(tree.insert(elem), sameInstance(tree));
+        }
+        assertThat(tree.size(), equalTo(elementsInTree.length));
+    }
+
+    @Test
+    public void searchIsTrueForInsertedElements() {
+        for (int elem : elementsInTree) {
+            assertTrue(tree.search(elem));
+        }
+    }
+
+    @Test
+    public void searchIsFalseForNonInsertedElements() {
+        for (int elem : elementsNotInTree) {
+            assertFalse(tree.search(elem));
+        }
+    }
+
+    @Test
+    public void emptyTreeHasNoElements() {
+        PersistentTree<Integer> emptyTree = PersistentTree.empty();
+        for (int elem : elementsInTree) {
+            assertFalse(emptyTree.search(elem));
+        }
+        assertThat(emptyTree.size(), equalTo(0));
+        assertThat(emptyTree.height(), equalTo(0));
+        assertThat(emptyTree.leaves(), equalTo(0));
+        assertThat(emptyTree.toString(), equalTo("[]"));
+    }
+
+    @Test
+    public void toStringIsEqualToSortedArrayRepresentation() {
+        Arrays.sort(elementsInTree);
+        assertThat(tree.toString(), equalTo(Arrays.toString(elementsInTree)));
+    }
+
+    @Test
+    public void toStringSeparatesEmptyStringElements() {
+        PersistentTree<String> stringTree = PersistentTree.<String>empty()
+            .insert("a").insert("").insert("b");
+        assertThat(stringTree.toString(), equalTo("[, a, b]"));
+    }
+
+    @Test
+    public void earlierVersionsAreUnchangedByInsert() {
+        // Arrange
+        List<PersistentTree<Integer>> versions = versionsOfRange(1000);
+
+        // Act, Assert
+        for (int version = 0; version < versions.size(); version++) {
+            assertThat(versions.get(version).size(), equalTo(version));
+            assertTrue(version == 0 || versions.get(version).search(version - 1));
+            assertFalse(versions.get(version).search(version));
+        }
+    }
+
+    @Test
+    public void iteratorOfSnapshotIsUnaffectedByLaterInserts() {
+        // Arrange
+        PersistentTree<Integer> snapshot = tree;
+        Iterator<Integer> it = snapshot.iterator();
+        it.next();
+
+        // Act
+        for (int elem : elementsNotInTree) {
+            tree = tree.insert(elem);
+        }
+
+        // Assert
+        int count = 1;
+        while (it.hasNext()) {
+            assertFalse(Arrays.stream(elementsNotInTree).anyMatch(it.next()::equals));
+            count++;
+        }
+        assertThat(count, equalTo(elementsInTree.length));
+    }
+
+    @Test
+    public void heightIsLogarithmicWhenElementsWereInsertedInAscendingOrder() {
+        PersistentTree<Integer> tree = PersistentTree.empty();
+        int numElements = 100000;
+        for (int i = 0; i < numElements; i++) {
+            tree = tree.insert(i);
+        }
+        // An AVL tree is at most about 1.44 * log2(n + 2) high.
+        double log2 = Math.log(numElements + 2) / Math.log(2);
+        assertThat(tree.size(), equalTo(numElements));
+        assertTrue(tree.height() <= 1.44 * log2);
+    }
+
+    @Test
+    public void heightAndLeavesOfPerfectTree() {
+        // Inserting 1..15 in ascending order gives a perfect AVL tree
+        PersistentTree<Integer> tree = versionsOfRange(16).get(15);
+        assertThat(tree.height(), equalTo(3));
+        assertThat(tree.leaves(), equalTo(8));
+    }
+
+    /**
+     * Returns the trees with the Integers 0 to version - 1, for every version
+     * up to and including numVersions - 1, each derived from the one before.
+     */
+    private static List<PersistentTree<Integer>> versionsOfRange(int numVersions) {
+        List<PersistentTree<Integer>> versions = new ArrayList<>(numVersions);
+        versions.add(PersistentTree.empty());
+        for (int i = 1; i < numVersions; i++) {
+            versions.add(versions.get(i - 1).insert(i - 1));
+        }
+        return versions;
+    }
+}
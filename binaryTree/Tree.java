@@ -1,14 +1,55 @@
 import java.lang.Math;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * Class for a tree data structure.
+ *
+ * The tree is a plain binary search tree unless a balancing mode is given,
+ * in which case it is kept as an AVL tree or as a red-black tree and its
+ * height stays O(log n) for any order of insertion.
+ *
+ * Every node knows the size of its subtree, which lets the tree answer
+ * order statistics (rank, select) and range queries in time proportional to
+ * its height, and lets traversals be split into parallel tasks of known size.
+ *
  * @author Erik Vanhainen
  * @version 11-02-2019
  */
-class Tree<T extends Comparable<T>> {
+class Tree<T extends Comparable<T>> implements Iterable<T> {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 10;
+
+    private final Balance balance;
     private Node<T> root;
     private int size;
+    private int leaves;     // Number of nodes without children.
+    private int modCount;   // Number of structural changes, for iterators.
+    private final ArrayList<Node<T>> path = new ArrayList<>(); // Reused by insert.
+
+    /**
+     * Ways of keeping the tree balanced.
+     */
+    public enum Balance {
+        /** No balancing, the shape depends on the order of insertion. */
+        NONE,
+        /** AVL tree, subtree heights differ by at most one. */
+        AVL,
+        /** Red-black tree, no path is more than twice as long as another. */
+        RED_BLACK
+    }
 
     /**
      * Class for a Nodes in tree.
@@ -17,6 +58,9 @@ class Tree<T extends Comparable<T>> {
         public T data;
         public Node<T> LC;
         public Node<T> RC;
+        public int height;  // Height of the subtree, 0 for a leaf.
+        public int size;    // Number of nodes in the subtree.
+        public boolean red; // Color in a red-black tree.
 
         /**
          * Node constructor.
@@ -26,27 +70,165 @@ class Tree<T extends Comparable<T>> {
             this.data = data;
             LC = null;
             RC = null;
+            height = 0;
+            size = 1;
+            red = true;
         }
     }
     /**
-     * Tree constructor.
+     * Tree constructor, for a tree without balancing.
      **/
     public Tree() {
+        this(Balance.NONE);
+    }
+
+    /**
+     * Tree constructor.
+     * @param balance how the tree is kept balanced.
+     **/
+    public Tree(Balance balance) {
+        this.balance = balance;
         root = null;
         size = 0;
+        leaves = 0;
+    }
+
+    /**
+     * Builds a perfectly balanced tree from sorted elements in O(n) time.
+     * Equal neighbours are only stored once.
+     * @param sorted elements in ascending order.
+     * @param balance how the tree is kept balanced on later inserts.
+     * @return a tree with the given elements.
+     * @throws IllegalArgumentException if the elements are not sorted.
+     **/
+    public static <T extends Comparable<T>> Tree<T> fromSorted(T[] sorted, Balance balance) {
+        int distinct = Math.min(sorted.length, 1);
+        for(int i = 1; i < sorted.length; i++) {
+            int cmp = sorted[i - 1].compareTo(sorted[i]);
+            if(cmp > 0) {
+                throw new IllegalArgumentException(
+                    "elements must be sorted! " + sorted[i - 1] + " before " + sorted[i]);
+            } else if(cmp < 0) {
+                distinct++;
+            }
+        }
+        Iterator<T> it = new Iterator<T>() {
+            private int index = 0;
+
+            public boolean hasNext() {
+                return index < sorted.length;
+            }
+
+            public T next() {
+                T elem = sorted[index++];
+                while(index < sorted.length && sorted[index].compareTo(elem) == 0) {
+                    index++;
+                }
+                return elem;
+            }
+        };
+        return fromSorted(it, distinct, balance);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from sorted elements in O(n) time.
+     * @param sorted an iterator over at least n elements in strictly
+     * ascending order.
+     * @param n the number of elements to take from the iterator.
+     * @param balance how the tree is kept balanced on later inserts.
+     * @return a tree with the given elements.
+     * @throws IllegalArgumentException if the elements are not strictly
+     * ascending, or if n < 0.
+     * @throws NoSuchElementException if the iterator has fewer than n
+     * elements.
+     **/
+    public static <T extends Comparable<T>> Tree<T> fromSorted(
+            Iterator<T> sorted, int n, Balance balance) {
+        if(n < 0) {
+            throw new IllegalArgumentException(
+                "n must be a non-negative value! Provided: " + n);
+        }
+        Iterator<T> checked = new Iterator<T>() {
+            private T previous = null;
+
+            public boolean hasNext() {
+                return sorted.hasNext();
+            }
+
+            public T next() {
+                T elem = sorted.next();
+                if(previous != null && previous.compareTo(elem) >= 0) {
+                    throw new IllegalArgumentException(
+                        "elements must be strictly ascending! " + previous + " before " + elem);
+                }
+                previous = elem;
+                return elem;
+            }
+        };
+        Tree<T> tree = new Tree<>(balance);
+        // The deepest level may be incomplete; in a red-black tree its nodes
+        // are red so that every path has the same number of black nodes.
+        int deepest = 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        tree.root = tree.build(checked, n, 0, deepest);
+        tree.size = n;
+        return tree;
     }
 
     /**
-     * Searches for a element by value iterative.
+     * Builds an unsorted array into a perfectly balanced tree, by sorting a
+     * copy of it and building from that. Duplicates are only stored once.
+     * @param elems elements in any order.
+     * @param balance how the tree is kept balanced on later inserts.
+     * @param parallel true to sort with Arrays.parallelSort.
+     * @return a tree with the given elements.
+     **/
+    public static <T extends Comparable<T>> Tree<T> fromUnsorted(
+            T[] elems, Balance balance, boolean parallel) {
+        T[] sorted = Arrays.copyOf(elems, elems.length);
+        if(parallel) {
+            Arrays.parallelSort(sorted);
+        } else {
+            Arrays.sort(sorted);
+        }
+        return fromSorted(sorted, balance);
+    }
+
+    /**
+     * Builds a balanced subtree of the next n elements, in order. The
+     * recursion is only as deep as the resulting tree, O(log n).
+     * @param depth the depth of the subtree root.
+     * @param deepest the depth of the deepest level of the whole tree.
+     * @return the root of the subtree.
+     **/
+    private Node<T> build(Iterator<T> sorted, int n, int depth, int deepest) {
+        if(n == 0) {
+            return null;
+        }
+        int leftSize = (n - 1) / 2;
+        Node<T> left = build(sorted, leftSize, depth + 1, deepest);
+        Node<T> node = new Node<>(sorted.next());
+        node.LC = left;
+        node.RC = build(sorted, n - 1 - leftSize, depth + 1, deepest);
+        node.red = depth == deepest && depth > 0;
+        update(node);
+        if(isLeaf(node)) {
+            leaves++;
+        }
+        return node;
+    }
+
+    /**
+     * Searches for a element by value iterative, comparing once per level.
      * @param elem the value of the element.
      * @return true if element is in tree, false otherwise.
      **/
     public boolean search(T elem) {
         Node<T> current  = root;
         while(current != null) {
-            if(current.data.compareTo(elem) == 0) {
+            int cmp = current.data.compareTo(elem);
+            if(cmp == 0) {
                 return true;
-            } else if(current.data.compareTo(elem) > 0) {
+            } else if(cmp > 0) {
                 current = current.LC;
             } else {
                 current = current.RC;
@@ -56,37 +238,211 @@ class Tree<T extends Comparable<T>> {
     }
 
     /**
-     * Inserts a element in correct order iterative.
+     * Inserts a element in correct order iterative, then rebalances the
+     * path up to the root. Finding the place of the element and detecting
+     * duplicates is done in the same descent, with one comparison per level.
      * @param elem the value of the element.
      * @return treu if no such element already exists, false othewise.
      **/
     public boolean insert(T elem) {
         if(root == null) {
             root = new Node<>(elem);
+            root.red = false;
             size++;
+            leaves++;
+            modCount++;
             return true;
         }
-        Node<T> current  = root;
-        if(!search(elem)) {
-            while(current != null) {
-                if(current.data.compareTo(elem) > 0) {
-                    if(current.LC == null) {
-                        current.LC = new Node<>(elem);
-                        size++;
-                        return true;
-                    }
-                    current = current.LC;
-                } else {
-                    if(current.RC == null) {
-                        current.RC = new Node<>(elem);
-                        size++;
-                        return true;
-                    }
-                    current = current.RC;
+        path.clear();
+        Node<T> current = root;
+        int cmp = 0;
+        while(current != null) {
+            cmp = current.data.compareTo(elem);
+            if(cmp == 0) {
+                return false;
+            }
+            path.add(current);
+            if(cmp > 0) {
+                current = current.LC;
+            } else {
+                current = current.RC;
+            }
+        }
+        Node<T> node = new Node<>(elem);
+        Node<T> parent = path.get(path.size() - 1);
+        if(!isLeaf(parent)) {
+            // Otherwise the new leaf just replaces its parent as a leaf.
+            leaves++;
+        }
+        if(cmp > 0) {
+            parent.LC = node;
+        } else {
+            parent.RC = node;
+        }
+        path.add(node);
+        size++;
+        modCount++;
+        for(int i = path.size() - 2; i >= 0; i--) {
+            update(path.get(i));
+        }
+        if(balance == Balance.AVL) {
+            rebalanceAVL();
+        } else if(balance == Balance.RED_BLACK) {
+            rebalanceRedBlack();
+        }
+        return true;
+    }
+
+    /**
+     * Restores the AVL property along the insertion path, from the bottom up.
+     **/
+    private void rebalanceAVL() {
+        for(int i = path.size() - 1; i >= 0; i--) {
+            Node<T> node = path.get(i);
+            update(node);
+            int diff = height(node.LC) - height(node.RC);
+            Node<T> top = node;
+            if(diff > 1) {
+                if(height(node.LC.LC) < height(node.LC.RC)) {
+                    node.LC = rotateLeft(node.LC);
                 }
+                top = rotateRight(node);
+            } else if(diff < -1) {
+                if(height(node.RC.RC) < height(node.RC.LC)) {
+                    node.RC = rotateRight(node.RC);
+                }
+                top = rotateLeft(node);
+            }
+            if(top != node) {
+                replaceChild(i > 0 ? path.get(i - 1) : null, node, top);
             }
         }
-        return false;
+    }
+
+    /**
+     * Restores the red-black properties after inserting the last node of
+     * the insertion path, which is red.
+     **/
+    private void rebalanceRedBlack() {
+        int i = path.size() - 1;
+        int rotatedAt = -1;
+        while(i > 1 && path.get(i - 1).red) {
+            Node<T> node = path.get(i);
+            Node<T> parent = path.get(i - 1);
+            Node<T> grand = path.get(i - 2);
+            Node<T> uncle = grand.LC == parent ? grand.RC : grand.LC;
+            if(uncle != null && uncle.red) {
+                parent.red = false;
+                uncle.red = false;
+                grand.red = true;
+                i -= 2;
+                continue;
+            }
+            if(grand.LC == parent) {
+                if(parent.RC == node) {
+                    grand.LC = rotateLeft(parent);
+                    parent = node;
+                }
+                replaceChild(i > 2 ? path.get(i - 3) : null, grand, rotateRight(grand));
+            } else {
+                if(parent.LC == node) {
+                    grand.RC = rotateRight(parent);
+                    parent = node;
+                }
+                replaceChild(i > 2 ? path.get(i - 3) : null, grand, rotateLeft(grand));
+            }
+            parent.red = false;
+            grand.red = true;
+            rotatedAt = i - 2;
+            break;
+        }
+        root.red = false;
+        // The ancestors of a rotation have new subtrees below them.
+        for(int j = rotatedAt - 1; j >= 0; j--) {
+            update(path.get(j));
+        }
+    }
+
+    /**
+     * Rotates the subtree left, so that the right child becomes its root.
+     * @param node the root of the subtree.
+     * @return the new root of the subtree.
+     **/
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> top = node.RC;
+        int leavesBefore = leafCount(node, top);
+        node.RC = top.LC;
+        top.LC = node;
+        leaves += leafCount(node, top) - leavesBefore;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Rotates the subtree right, so that the left child becomes its root.
+     * @param node the root of the subtree.
+     * @return the new root of the subtree.
+     **/
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> top = node.LC;
+        int leavesBefore = leafCount(node, top);
+        node.LC = top.RC;
+        top.RC = node;
+        leaves += leafCount(node, top) - leavesBefore;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    /**
+     * Replaces a child of parent, or the root if parent is null.
+     **/
+    private void replaceChild(Node<T> parent, Node<T> oldChild, Node<T> newChild) {
+        if(parent == null) {
+            root = newChild;
+        } else if(parent.LC == oldChild) {
+            parent.LC = newChild;
+        } else {
+            parent.RC = newChild;
+        }
+    }
+
+    /**
+     * Recomputes the height and size of a node from its children.
+     **/
+    private void update(Node<T> node) {
+        node.height = Math.max(height(node.LC), height(node.RC)) + 1;
+        node.size = size(node.LC) + size(node.RC) + 1;
+    }
+
+    /**
+     * @return the height of the subtree, -1 if it is empty.
+     **/
+    private static int height(Tree<?>.Node<?> node) {
+        return node == null ? -1 : node.height;
+    }
+
+    /**
+     * @return true if the node has no children.
+     **/
+    private static boolean isLeaf(Tree<?>.Node<?> node) {
+        return node.LC == null && node.RC == null;
+    }
+
+    /**
+     * @return how many of the two nodes are leaves. Only these two change
+     * children in a rotation.
+     **/
+    private static int leafCount(Tree<?>.Node<?> a, Tree<?>.Node<?> b) {
+        return (isLeaf(a) ? 1 : 0) + (isLeaf(b) ? 1 : 0);
+    }
+
+    /**
+     * @return the number of nodes in the subtree, 0 if it is empty.
+     **/
+    private static int size(Tree<?>.Node<?> node) {
+        return node == null ? 0 : node.size;
     }
 
     /**
@@ -98,77 +454,504 @@ class Tree<T extends Comparable<T>> {
     }
 
     /**
-     * Height of the tree.
-     * @return maximum number of "layers" in the tree.
+     * Finds the greatest element less than or equal to the given one.
+     * @param elem the value to compare with.
+     * @return the floor of elem, or null if every element is greater.
      **/
-    public int height() {
-        return heightCount(root);
+    public T floor(T elem) {
+        T floor = null;
+        Node<T> current = root;
+        while(current != null) {
+            int cmp = current.data.compareTo(elem);
+            if(cmp == 0) {
+                return current.data;
+            } else if(cmp > 0) {
+                current = current.LC;
+            } else {
+                floor = current.data;
+                current = current.RC;
+            }
+        }
+        return floor;
     }
 
     /**
-     * Helper method for counting the height recursivly.
-     * @param node the node that the height is counted from.
-     * @return maximum number of "layers" from the node.
+     * Finds the least element greater than or equal to the given one.
+     * @param elem the value to compare with.
+     * @return the ceiling of elem, or null if every element is less.
      **/
-    private int heightCount(Node<T> node) {
-        if(node == null) {
-            return 0;
-        }
-        if(node.LC == null && node.RC == null) {
-            return 0;
+    public T ceiling(T elem) {
+        T ceiling = null;
+        Node<T> current = root;
+        while(current != null) {
+            int cmp = current.data.compareTo(elem);
+            if(cmp == 0) {
+                return current.data;
+            } else if(cmp > 0) {
+                ceiling = current.data;
+                current = current.LC;
+            } else {
+                current = current.RC;
+            }
         }
-        int left = heightCount(node.LC);
-        int right = heightCount(node.RC);
-        return(Math.max(left, right) + 1);
+        return ceiling;
     }
 
     /**
-     * Couting number of elements at the bottom of the tree (leaves).
-     * @return number of leaves.
+     * Counts the elements less than the given one, which is the index the
+     * element has (or would have) in sorted order.
+     * @param elem the value to compare with.
+     * @return number of elements less than elem.
      **/
-    public int leaves() {
-        return leavesCount(root);
+    public int rank(T elem) {
+        int rank = 0;
+        Node<T> current = root;
+        while(current != null) {
+            int cmp = current.data.compareTo(elem);
+            if(cmp == 0) {
+                return rank + size(current.LC);
+            } else if(cmp > 0) {
+                current = current.LC;
+            } else {
+                rank += size(current.LC) + 1;
+                current = current.RC;
+            }
+        }
+        return rank;
     }
 
     /**
-     * Helper method for counting number of leaves recursivly.
-     * @param node the node that the count starts from.
-     * @return number of leaves below the node.
+     * Finds the element with the given index in sorted order.
+     * @param k the index, starting from 0 for the least element.
+     * @return the k:th least element.
+     * @throws IndexOutOfBoundsException if k < 0 or k >= size.
      **/
-    private int leavesCount(Node<T> node) {
-        if(node == null) {
-            return 0;
+    public T select(int k) {
+        if(k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException();
         }
-        if (node.LC == null && node.RC == null) {
-            return 1;
+        Node<T> current = root;
+        while(true) {
+            int leftSize = size(current.LC);
+            if(k < leftSize) {
+                current = current.LC;
+            } else if(k > leftSize) {
+                k -= leftSize + 1;
+                current = current.RC;
+            } else {
+                return current.data;
+            }
         }
-        return leavesCount(node.LC) + leavesCount(node.RC);
     }
 
     /**
-     * Computes a string representation of the tree.
-     * @return string representation of the tree.
+     * Counts the elements in the range [lo, hi).
+     * @param lo the least value of the range.
+     * @param hi the value after the range.
+     * @return number of elements e such that lo <= e < hi.
      **/
-    public String toString() {
-        if(size == 0) {
-            return "[]";
+    public int rangeCount(T lo, T hi) {
+        return Math.max(rank(hi) - rank(lo), 0);
+    }
+
+    /**
+     * Iterates over the elements in the range [lo, hi) in ascending order.
+     * Finding the first element takes time proportional to the height, and
+     * each following element amortized constant time.
+     * @param lo the least value of the range.
+     * @param hi the value after the range.
+     * @return an iterator over the elements e such that lo <= e < hi.
+     **/
+    public Iterator<T> rangeIterator(T lo, T hi) {
+        return new InOrderIterator(lo, hi);
+    }
+
+    /**
+     * Iterates over the elements in ascending order. The elements are
+     * visited lazily, so the tree is never copied and the iteration can be
+     * stopped early. The iterator fails fast if the tree is modified.
+     * @return an iterator over the elements.
+     **/
+    public Iterator<T> iterator() {
+        return new InOrderIterator(null, null);
+    }
+
+    /**
+     * Creates a spliterator over the elements in ascending order. It splits
+     * at subtrees, so the sizes of both halves are known exactly.
+     * @return a spliterator over the elements.
+     **/
+    public Spliterator<T> spliterator() {
+        ArrayDeque<Segment> segments = new ArrayDeque<>();
+        segments.add(new Segment(null, root));
+        return new TreeSpliterator(segments, size, modCount);
+    }
+
+    /**
+     * Creates a sequential stream of the elements in ascending order.
+     * @return a stream of the elements.
+     **/
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Creates a parallel stream of the elements in ascending order.
+     * @return a stream of the elements.
+     **/
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Performs the action for every element, in parallel and in no
+     * particular order. The tree must not be modified meanwhile.
+     * @param action the action to perform, which must be thread-safe.
+     **/
+    public void parallelForEach(Consumer<? super T> action) {
+        parallelReduce(null, elem -> {
+            action.accept(elem);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    /**
+     * Maps every element and combines the results in order, with subtrees
+     * processed in parallel. The tree must not be modified meanwhile.
+     * @param identity the result for an empty tree, an identity of combiner.
+     * @param mapper maps an element to a result.
+     * @param combiner an associative function combining two results.
+     * @return the combined result of every element.
+     **/
+    public <R> R parallelReduce(R identity, Function<? super T, ? extends R> mapper,
+            BinaryOperator<R> combiner) {
+        if(root == null) {
+            return identity;
         }
-        ArrayList<T> stringArr = new ArrayList<>();
-        return Arrays.toString(toStringHelper(root, stringArr).toArray());
+        return ForkJoinPool.commonPool().invoke(
+            new ReduceTask<R>(root, identity, mapper, combiner));
     }
 
     /**
-     * Helper method for representing the tree recursivly.
-     * @param node the node that the representation starts from.
+     * Counts the elements matching a predicate, in parallel.
+     * @param predicate the predicate to test, which must be thread-safe.
+     * @return number of elements for which the predicate is true.
      **/
-    private ArrayList<T> toStringHelper(Node<T> node, ArrayList<T> list) {
-        if(node.LC != null) {
-            toStringHelper(node.LC, list);
+    public long count(Predicate<? super T> predicate) {
+        return parallelReduce(0L, elem -> predicate.test(elem) ? 1L : 0L, Long::sum);
+    }
+
+    /**
+     * Fork-join task reducing a subtree. Subtrees are forked only while both
+     * halves are large enough to be worth it. At a skewed node the small side
+     * and the node are reduced here and the task walks on down into the large
+     * side, so one lopsided node does not make its whole subtree sequential,
+     * and a degenerate tree is reduced in a loop rather than by nested tasks.
+     */
+    private class ReduceTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Node<T> node;
+        private final R identity;
+        private final Function<? super T, ? extends R> mapper;
+        private final BinaryOperator<R> combiner;
+
+        ReduceTask(Node<T> node, R identity, Function<? super T, ? extends R> mapper,
+                BinaryOperator<R> combiner) {
+            this.node = node;
+            this.identity = identity;
+            this.mapper = mapper;
+            this.combiner = combiner;
+        }
+
+        protected R compute() {
+            R prefix = identity;    // Elements before current, in order.
+            R suffix = identity;    // Elements after current, in order.
+            Node<T> current = node;
+            while(current.size > SEQUENTIAL_THRESHOLD) {
+                int leftSize = size(current.LC);
+                int rightSize = size(current.RC);
+                if(Math.min(leftSize, rightSize) * 8 >= current.size) {
+                    ReduceTask<R> left = new ReduceTask<>(current.LC, identity, mapper, combiner);
+                    left.fork();
+                    R right = new ReduceTask<>(current.RC, identity, mapper, combiner).compute();
+                    R middle = mapper.apply(current.data);
+                    R result = combiner.apply(combiner.apply(left.join(), middle), right);
+                    return combiner.apply(combiner.apply(prefix, result), suffix);
+                }
+                R middle = mapper.apply(current.data);
+                if(leftSize < rightSize) {
+                    prefix = combiner.apply(combiner.apply(prefix, reduce(current.LC)), middle);
+                    current = current.RC;
+                } else {
+                    suffix = combiner.apply(combiner.apply(middle, reduce(current.RC)), suffix);
+                    current = current.LC;
+                }
+            }
+            return combiner.apply(combiner.apply(prefix, reduceSequential(current)), suffix);
+        }
+
+        /**
+         * Reduces the small side of a skewed node, which may itself be large
+         * enough to fork below.
+         **/
+        private R reduce(Node<T> subtree) {
+            if(subtree == null) {
+                return identity;
+            }
+            return new ReduceTask<>(subtree, identity, mapper, combiner).compute();
+        }
+
+        /**
+         * Reduces a subtree in order, using an explicit stack.
+         **/
+        private R reduceSequential(Node<T> subtree) {
+            R result = identity;
+            ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+            for(Node<T> current = subtree; current != null; current = current.LC) {
+                stack.push(current);
+            }
+            while(!stack.isEmpty()) {
+                Node<T> current = stack.pop();
+                result = combiner.apply(result, mapper.apply(current.data));
+                for(current = current.RC; current != null; current = current.LC) {
+                    stack.push(current);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Spliterator over a sequence of segments, each an element followed by a
+     * subtree. Splitting walks from the segment holding the middle element
+     * down towards it, as select does, and cuts the segments along the path
+     * into a prefix and a suffix, so the size of each part is known from the
+     * subtree sizes. A skewed node thus only costs a step of the walk; the
+     * walk gives up after twice the height of a balanced tree, so a nearly
+     * degenerate tree is traversed sequentially instead of split per element.
+     * Once traversal has started it is not split any more.
+     */
+    private class TreeSpliterator implements Spliterator<T> {
+        private final ArrayDeque<Segment> segments;
+        private ArrayDeque<Node<T>> stack;  // Set once traversal has started.
+        private int remaining;
+        private final int expectedModCount;
+
+        TreeSpliterator(ArrayDeque<Segment> segments, int remaining, int expectedModCount) {
+            this.segments = segments;
+            this.remaining = remaining;
+            this.expectedModCount = expectedModCount;
+        }
+
+        public Spliterator<T> trySplit() {
+            if(stack != null || remaining < 2) {
+                return null;
+            }
+            int target = remaining / 2;     // Wanted size of the prefix.
+
+            // Find the segment holding the element at position target.
+            int before = 0;                 // Elements before the segment.
+            int index = 0;
+            Iterator<Segment> it = segments.iterator();
+            Segment segment = it.next();
+            while(before + segment.size() <= target) {
+                before += segment.size();
+                segment = it.next();
+                index++;
+            }
+
+            // Walk down towards target, cutting the segment along the path.
+            ArrayDeque<Segment> prefixCuts = new ArrayDeque<>();
+            ArrayDeque<Segment> suffixCuts = new ArrayDeque<>();
+            T head = segment.head;
+            Node<T> node = segment.subtree;
+            int steps = 2 * (32 - Integer.numberOfLeadingZeros(remaining));
+            int split;                      // Size of the prefix.
+            while(true) {
+                if(node == null) {
+                    if(before > 0) {
+                        suffixCuts.addFirst(new Segment(head, null));
+                        split = before;
+                    } else {
+                        prefixCuts.add(new Segment(head, null));
+                        split = 1;
+                    }
+                    break;
+                }
+                split = before + (head != null ? 1 : 0) + size(node.LC);
+                if(split * 8 >= remaining && (remaining - split) * 8 >= remaining) {
+                    prefixCuts.add(new Segment(head, node.LC));
+                    suffixCuts.addFirst(new Segment(node.data, node.RC));
+                    break;
+                }
+                if(--steps < 0) {
+                    return null;
+                }
+                if(split < target) {
+                    prefixCuts.add(new Segment(head, node.LC));
+                    before = split;
+                    head = node.data;
+                    node = node.RC;
+                } else {
+                    suffixCuts.addFirst(new Segment(node.data, node.RC));
+                    node = node.LC;
+                }
+            }
+
+            ArrayDeque<Segment> prefix = new ArrayDeque<>();
+            for(int i = 0; i < index; i++) {
+                prefix.add(segments.poll());
+            }
+            segments.poll();
+            prefix.addAll(prefixCuts);
+            for(Iterator<Segment> cuts = suffixCuts.descendingIterator(); cuts.hasNext();) {
+                segments.addFirst(cuts.next());
+            }
+            remaining -= split;
+            return new TreeSpliterator(prefix, split, expectedModCount);
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(stack == null) {
+                stack = new ArrayDeque<>();
+            }
+            T elem = null;
+            while(elem == null) {
+                if(!stack.isEmpty()) {
+                    Node<T> node = stack.pop();
+                    for(Node<T> current = node.RC; current != null; current = current.LC) {
+                        stack.push(current);
+                    }
+                    elem = node.data;
+                } else if(!segments.isEmpty()) {
+                    // The head comes first, so push the subtree behind it.
+                    Segment segment = segments.poll();
+                    for(Node<T> current = segment.subtree; current != null; current = current.LC) {
+                        stack.push(current);
+                    }
+                    elem = segment.head;
+                } else {
+                    return false;
+                }
+            }
+            remaining--;
+            action.accept(elem);
+            return true;
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        public Comparator<? super T> getComparator() {
+            return null;    // Natural order.
+        }
+    }
+
+    /**
+     * An element, or null, followed by a subtree, or null, in a spliterator.
+     */
+    private class Segment {
+        final T head;
+        final Node<T> subtree;
+
+        Segment(T head, Node<T> subtree) {
+            this.head = head;
+            this.subtree = subtree;
+        }
+
+        int size() {
+            return (head != null ? 1 : 0) + Tree.size(subtree);
+        }
+    }
+
+    /**
+     * Iterator for the nodes in order, using an explicit stack of the
+     * ancestors that are still to be visited.
+     */
+    private class InOrderIterator implements Iterator<T> {
+        private final ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+        private final T hi;
+        private final int expectedModCount = modCount;
+
+        /**
+         * @param lo the least value to visit, or null for no lower bound.
+         * @param hi the value to stop at, or null for no upper bound.
+         **/
+        InOrderIterator(T lo, T hi) {
+            this.hi = hi;
+            Node<T> current = root;
+            while(current != null) {
+                if(lo == null || current.data.compareTo(lo) >= 0) {
+                    stack.push(current);
+                    current = current.LC;
+                } else {
+                    current = current.RC;
+                }
+            }
         }
-        list.add(node.data);
-        if(node.RC != null) {
-            toStringHelper(node.RC, list);
+
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                && (hi == null || stack.peek().data.compareTo(hi) < 0);
+        }
+
+        public T next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = stack.pop();
+            for(Node<T> current = node.RC; current != null; current = current.LC) {
+                stack.push(current);
+            }
+            return node.data;
+        }
+    }
+
+    /**
+     * Height of the tree, kept up to date by insert.
+     * @return maximum number of "layers" in the tree.
+     **/
+    public int height() {
+        return root == null ? 0 : root.height;
+    }
+
+    /**
+     * Couting number of elements at the bottom of the tree (leaves), kept up
+     * to date by insert.
+     * @return number of leaves.
+     **/
+    public int leaves() {
+        return leaves;
+    }
+
+    /**
+     * Computes a string representation of the tree, by iterating over the
+     * elements in order.
+     * @return string representation of the tree.
+     **/
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for(T elem : this) {
+            if(!first) {
+                sb.append(", ");
+            }
+            sb.append(elem);
+            first = false;
         }
-        return list;
+        return sb.append("]").toString();
     }
 }
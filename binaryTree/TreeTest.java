@@ -8,6 +8,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.IntStream;
 
 /**
@@ -313,4 +319,442 @@ public class TreeTest {
         // Assert
         assertThat(actualString, equalTo(expectedString));
     }
+
+    @Test
+    public void toStringSeparatesEmptyStringElements() {
+        // Arrange
+        Tree<String> stringTree = new Tree<>();
+        stringTree.insert("a");
+        stringTree.insert("");
+        stringTree.insert("b");
+        String expectedString = Arrays.toString(new String[]{"", "a", "b"});
+
+        // Act
+        String actualString = stringTree.toString();
+        // Assert
+        assertThat(actualString, equalTo(expectedString));
+    }
+
+    // Tests for floor/ceiling
+    @Test
+    public void floorIsGreatestElementLessThanOrEqual() {
+        assertThat(tree.floor(8), equalTo(8));
+        assertThat(tree.floor(5), equalTo(4));
+        assertThat(tree.floor(12), equalTo(10));
+        assertThat(tree.floor(100), equalTo(14));
+        assertThat(tree.floor(0), is(nullValue()));
+    }
+
+    @Test
+    public void ceilingIsLeastElementGreaterThanOrEqual() {
+        assertThat(tree.ceiling(8), equalTo(8));
+        assertThat(tree.ceiling(5), equalTo(6));
+        assertThat(tree.ceiling(11), equalTo(13));
+        assertThat(tree.ceiling(-100), equalTo(1));
+        assertThat(tree.ceiling(15), is(nullValue()));
+    }
+
+    // Tests for rank/select
+    @Test
+    public void selectOfRankIsElementForEveryElement() {
+        Arrays.sort(elementsInTree);
+        for (int i = 0; i < elementsInTree.length; i++) {
+            assertThat(tree.rank(elementsInTree[i]), equalTo(i));
+            assertThat(tree.select(i), equalTo(elementsInTree[i]));
+        }
+    }
+
+    @Test
+    public void rankIsNumberOfLesserElementsForNonInsertedElements() {
+        // Elements in tree: 1, 3, 4, 6, 7, 8, 10, 13, 14
+        assertThat(tree.rank(-10), equalTo(0));
+        assertThat(tree.rank(5), equalTo(3));
+        assertThat(tree.rank(12), equalTo(7));
+        assertThat(tree.rank(74), equalTo(9));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void selectExceptionWhenIndexIsOutOfBounds() {
+        tree.select(elementsInTree.length);
+    }
+
+    // Tests for ranges
+    @Test
+    public void rangeCountIsNumberOfElementsInHalfOpenRange() {
+        assertThat(tree.rangeCount(3, 8), equalTo(4));
+        assertThat(tree.rangeCount(2, 13), equalTo(6));
+        assertThat(tree.rangeCount(-10, 100), equalTo(elementsInTree.length));
+        assertThat(tree.rangeCount(8, 8), equalTo(0));
+        assertThat(tree.rangeCount(10, 3), equalTo(0));
+    }
+
+    @Test
+    public void rangeIteratorReturnsElementsInRangeInAscendingOrder() {
+        Iterator<Integer> it = tree.rangeIterator(4, 13);
+        for (int expected : new int[] {4, 6, 7, 8, 10}) {
+            assertTrue(it.hasNext());
+            assertThat(it.next(), equalTo(expected));
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void rangeIteratorIsEmptyWhenNoElementIsInRange() {
+        assertFalse(tree.rangeIterator(11, 13).hasNext());
+        assertFalse(new Tree<Integer>().rangeIterator(0, 10).hasNext());
+    }
+
+    // Tests for deep trees
+    @Test
+    public void heightLeavesAndToStringWorkWhenTreeIsVeryDeep() {
+        // Ascending inserts without balancing give a tree as deep as it is
+        // large, deeper than a recursive traversal could handle
+        Tree<Integer> tree = new Tree<>();
+        int numElements = 12000;
+        for (int i = 0; i < numElements; i++) {
+            tree.insert(i);
+        }
+        assertThat(tree.height(), equalTo(numElements - 1));
+        assertThat(tree.leaves(), equalTo(1));
+        assertThat(tree.toString(), startsWith("[0, 1, 2, "));
+        assertThat(tree.toString(), endsWith(", " + (numElements - 1) + "]"));
+    }
+
+    @Test
+    public void leavesIsCorrectWhenRotationsMakeTheTreePerfect() {
+        // Ascending inserts into an AVL tree rotate it into a perfect tree
+        // whenever the size is 2^k - 1
+        Tree<Integer> tree = new Tree<>(Tree.Balance.AVL);
+        for (int i = 1; i <= 15; i++) {
+            tree.insert(i);
+        }
+        assertThat(tree.leaves(), equalTo(8));
+        assertThat(tree.height(), equalTo(3));
+    }
+
+    // Tests for bulk loading
+    @Test
+    public void fromSortedBuildsPerfectlyBalancedTree() {
+        for (Tree.Balance balance : Tree.Balance.values()) {
+            // Arrange
+            int numElements = (1 << 10) - 1;
+            Integer[] sorted = IntStream.range(0, numElements).boxed().toArray(Integer[]::new);
+
+            // Act
+            Tree<Integer> tree = Tree.fromSorted(sorted, balance);
+
+            // Assert
+            assertThat(tree.size(), equalTo(numElements));
+            assertThat(tree.height(), equalTo(9));
+            assertThat(tree.leaves(), equalTo(1 << 9));
+            assertThat(tree.toString(), equalTo(Arrays.toString(sorted)));
+        }
+    }
+
+    @Test
+    public void fromSortedStoresEqualNeighboursOnce() {
+        Integer[] sorted = {1, 1, 2, 3, 3, 3, 4};
+        Tree<Integer> tree = Tree.fromSorted(sorted, Tree.Balance.NONE);
+        assertThat(tree.size(), equalTo(4));
+        assertThat(tree.toString(), equalTo("[1, 2, 3, 4]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSortedExceptionWhenElementsAreNotSorted() {
+        Tree.fromSorted(new Integer[] {1, 3, 2}, Tree.Balance.NONE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromSortedExceptionWhenCountIsNegative() {
+        Tree.fromSorted(Arrays.asList(1, 2, 3).iterator(), -1, Tree.Balance.NONE);
+    }
+
+    @Test
+    public void fromUnsortedIsEqualToInsertingEveryElement() {
+        Integer[] elements = Arrays.stream(elementsInTree).boxed().toArray(Integer[]::new);
+        for (boolean parallel : new boolean[] {false, true}) {
+            // Act
+            Tree<Integer> tree = Tree.fromUnsorted(elements, Tree.Balance.RED_BLACK, parallel);
+
+            // Assert
+            assertThat(tree.toString(), equalTo(this.tree.toString()));
+            for (int elem : elementsNotInTree) {
+                assertTrue(tree.insert(elem));
+            }
+            assertThat(tree.size(), equalTo(elementsInTree.length + elementsNotInTree.length));
+        }
+    }
+
+    // Tests for iteration
+    @Test
+    public void iteratorReturnsElementsInAscendingOrder() {
+        Arrays.sort(elementsInTree);
+        int i = 0;
+        for (int elem : tree) {
+            assertThat(elem, equalTo(elementsInTree[i++]));
+        }
+        assertThat(i, equalTo(elementsInTree.length));
+    }
+
+    @Test
+    public void streamIsSortedElements() {
+        int[] expected = elementsInTree.clone();
+        Arrays.sort(expected);
+        int[] actual = tree.stream().mapToInt(Integer::intValue).toArray();
+        assertThat(Arrays.toString(actual), equalTo(Arrays.toString(expected)));
+    }
+
+    @Test
+    public void streamCanStopEarly() {
+        Tree<Integer> tree = new Tree<>(Tree.Balance.AVL);
+        for (int i = 0; i < 100000; i++) {
+            tree.insert(i);
+        }
+        assertThat(tree.stream().filter(elem -> elem > 10).findFirst().get(), equalTo(11));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorExceptionWhenTreeIsModified() {
+        Iterator<Integer> it = tree.iterator();
+        it.next();
+        tree.insert(1338);
+        it.next();
+    }
+
+    // Tests for parallel traversal
+    @Test
+    public void parallelReduceCombinesElementsInOrder() {
+        Tree<Integer> tree = Tree.fromSorted(sortedRange(5000), Tree.Balance.AVL);
+        String expected = tree.stream().map(String::valueOf).reduce("", String::concat);
+        String actual = tree.parallelReduce("", String::valueOf, String::concat);
+        assertThat(actual, equalTo(expected));
+        long sum = tree.parallelReduce(0L, Integer::longValue, Long::sum);
+        assertThat(sum, equalTo(4999L * 5000 / 2));
+    }
+
+    @Test
+    public void parallelReduceOfEmptyTreeIsIdentity() {
+        Tree<Integer> tree = new Tree<>();
+        assertThat(tree.parallelReduce(7, elem -> elem, Integer::sum), equalTo(7));
+        assertThat(tree.count(elem -> true), equalTo(0L));
+    }
+
+    @Test
+    public void countIsNumberOfMatchingElements() {
+        Tree<Integer> tree = Tree.fromSorted(sortedRange(100000), Tree.Balance.RED_BLACK);
+        assertThat(tree.count(elem -> elem % 3 == 0), equalTo(33334L));
+        assertThat(this.tree.count(elem -> elem > 10), equalTo(2L));
+    }
+
+    @Test
+    public void parallelForEachVisitsEveryElementOnce() {
+        int numElements = 50000;
+        Tree<Integer> tree = Tree.fromSorted(sortedRange(numElements), Tree.Balance.NONE);
+        AtomicIntegerArray visits =
+            new AtomicIntegerArray(numElements);
+        tree.parallelForEach(elem -> visits.incrementAndGet(elem));
+        for (int i = 0; i < numElements; i++) {
+            assertThat(visits.get(i), equalTo(1));
+        }
+    }
+
+    @Test
+    public void parallelStreamIsSortedElements() {
+        Tree<Integer> tree = new Tree<>(Tree.Balance.AVL);
+        for (int i = 0; i < 100000; i++) {
+            tree.insert((i * 7919) % 100000);
+        }
+        int[] actual = tree.parallelStream().mapToInt(Integer::intValue).toArray();
+        assertThat(Arrays.equals(actual, IntStream.range(0, 100000).toArray()), is(true));
+        assertThat(tree.parallelStream().filter(elem -> elem % 2 == 0).count(), equalTo(50000L));
+    }
+
+    @Test
+    public void spliteratorSplitsIntoExactSizes() {
+        Tree<Integer> tree = Tree.fromSorted(sortedRange(1000), Tree.Balance.AVL);
+        Spliterator<Integer> suffix = tree.spliterator();
+        assertThat(suffix.hasCharacteristics(Spliterator.SUBSIZED), is(true));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertThat(prefix.getExactSizeIfKnown() + suffix.getExactSizeIfKnown(), equalTo(1000L));
+        int[] next = new int[1];
+        prefix.forEachRemaining(elem -> assertThat(elem, equalTo(next[0]++)));
+        suffix.forEachRemaining(elem -> assertThat(elem, equalTo(next[0]++)));
+        assertThat(next[0], equalTo(1000));
+    }
+
+    @Test
+    public void spliteratorOfDegenerateTreeIsNotSplitPerElement() {
+        Tree<Integer> tree = new Tree<>();
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(i);
+        }
+        assertThat(tree.spliterator().trySplit(), is(nullValue()));
+        assertThat(tree.parallelStream().count(), equalTo(1000L));
+    }
+
+    @Test
+    public void spliteratorSplitsBelowLopsidedRoot() {
+        // Arrange
+        // Without balancing the first element is the root, so only a 20th of
+        // the elements are in its left subtree
+        int numElements = 50000;
+        Tree<Integer> tree = lopsidedTree(numElements);
+        Spliterator<Integer> suffix = tree.spliterator();
+
+        // Act
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        // Assert
+        assertThat(prefix, is(notNullValue()));
+        long prefixSize = prefix.getExactSizeIfKnown();
+        long suffixSize = suffix.getExactSizeIfKnown();
+        assertThat(prefixSize + suffixSize, equalTo((long) numElements));
+        assertTrue(prefixSize * 8 >= numElements && suffixSize * 8 >= numElements);
+        int[] next = new int[1];
+        prefix.forEachRemaining(elem -> assertThat(elem, equalTo(next[0]++)));
+        suffix.forEachRemaining(elem -> assertThat(elem, equalTo(next[0]++)));
+        assertThat(next[0], equalTo(numElements));
+    }
+
+    @Test
+    public void parallelReduceCombinesElementsInOrderBelowLopsidedRoot() {
+        Tree<Integer> tree = lopsidedTree(5000);
+        String expected = tree.stream().map(String::valueOf).reduce("", String::concat);
+        String actual = tree.parallelReduce("", String::valueOf, String::concat);
+        assertThat(actual, equalTo(expected));
+        assertThat(tree.count(elem -> elem % 2 == 0), equalTo(2500L));
+    }
+
+    /**
+     * Returns a tree without balancing of the Integers 0 to numElements - 1,
+     * inserted in random order after numElements / 20, which is the root.
+     */
+    private static Tree<Integer> lopsidedTree(int numElements) {
+        Integer[] elements = sortedRange(numElements);
+        Collections.shuffle(Arrays.asList(elements), new Random(42));
+        Tree<Integer> tree = new Tree<>();
+        tree.insert(numElements / 20);
+        for (int elem : elements) {
+            tree.insert(elem);
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the Integers 0 to numElements - 1 in ascending order.
+     */
+    private static Integer[] sortedRange(int numElements) {
+        return IntStream.range(0, numElements).boxed().toArray(Integer[]::new);
+    }
+
+    // Tests for the number of comparisons
+    @Test
+    public void insertComparesOncePerLevel() {
+        // Inserting in ascending order makes element i the i:th node on the
+        // rightmost path, so inserting it should take exactly i comparisons
+        Tree<CountingKey> tree = new Tree<>();
+        int numElements = 100;
+        for (int i = 0; i < numElements; i++) {
+            CountingKey.calls = 0;
+            tree.insert(new CountingKey(i));
+            assertThat(CountingKey.calls, equalTo(i));
+        }
+    }
+
+    @Test
+    public void insertOfDuplicateComparesOncePerLevel() {
+        Tree<CountingKey> tree = new Tree<>();
+        int numElements = 100;
+        for (int i = 0; i < numElements; i++) {
+            tree.insert(new CountingKey(i));
+        }
+        CountingKey.calls = 0;
+        assertFalse(tree.insert(new CountingKey(numElements - 1)));
+        assertThat(CountingKey.calls, equalTo(numElements));
+    }
+
+    @Test
+    public void searchComparesOncePerLevel() {
+        Tree<CountingKey> tree = new Tree<>();
+        int numElements = 100;
+        for (int i = 0; i < numElements; i++) {
+            tree.insert(new CountingKey(i));
+        }
+        CountingKey.calls = 0;
+        assertTrue(tree.search(new CountingKey(numElements - 1)));
+        assertThat(CountingKey.calls, equalTo(numElements));
+    }
+
+    // Tests for balancing
+    @Test
+    public void heightIsLogarithmicWhenAVLTreeIsInsertedInAscendingOrder() {
+        // An AVL tree is at most about 1.44 * log2(n) high
+        assertHeightIsAtMostWhenInsertedInAscendingOrder(Tree.Balance.AVL, 1.45);
+    }
+
+    @Test
+    public void heightIsLogarithmicWhenRedBlackTreeIsInsertedInAscendingOrder() {
+        // A red-black tree is at most 2 * log2(n + 1) high
+        assertHeightIsAtMostWhenInsertedInAscendingOrder(Tree.Balance.RED_BLACK, 2);
+    }
+
+    @Test
+    public void balancedTreesKeepElementsInOrder() {
+        for (Tree.Balance balance : Tree.Balance.values()) {
+            // Arrange
+            Tree<Integer> tree = new Tree<>(balance);
+            for (int elem : elementsInTree) {
+                tree.insert(elem);
+            }
+            Arrays.sort(elementsInTree);
+
+            // Act, Assert
+            assertThat(tree.toString(), equalTo(Arrays.toString(elementsInTree)));
+            for (int elem : elementsInTree) {
+                assertTrue(tree.search(elem));
+                assertFalse(tree.insert(elem));
+            }
+            for (int elem : elementsNotInTree) {
+                assertFalse(tree.search(elem));
+            }
+            assertThat(tree.size(), equalTo(elementsInTree.length));
+        }
+    }
+
+    /**
+     * Assert that a tree with the given balancing is at most
+     * factor * log2(n + 1) high after inserting n elements in ascending order.
+     *
+     * @param balance The balancing of the tree.
+     * @param factor The allowed factor of log2(n + 1).
+     */
+    private static void assertHeightIsAtMostWhenInsertedInAscendingOrder(
+            Tree.Balance balance, double factor) {
+        Tree<Integer> tree = new Tree<>(balance);
+        int numElements = 10000;
+        for (int i = 0; i < numElements; i++) {
+            tree.insert(i);
+        }
+        double log2 = Math.log(numElements + 1) / Math.log(2);
+        assertThat(tree.size(), equalTo(numElements));
+        assertTrue(tree.height() <= factor * log2);
+    }
+
+    /**
+     * A key that counts how many times compareTo is called on any instance.
+     */
+    private static class CountingKey implements Comparable<CountingKey> {
+        static int calls = 0;
+        private final int value;
+
+        CountingKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(CountingKey other) {
+            calls++;
+            return Integer.compare(value, other.value);
+        }
+    }
 }
@@ -0,0 +1,256 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe hash table-based implementation of the Set interface.
+ *
+ * The table is split into segments selected by the high bits of the hash,
+ * and each segment is an independent chained hash table guarded by its own
+ * lock (lock striping). Writers only lock the segment of their element, and
+ * segments grow independently of each other, so a resize never blocks the
+ * rest of the set.
+ *
+ * Reads take no locks at all. Buckets are read through an
+ * AtomicReferenceArray and chains through volatile links, and a resize
+ * publishes a freshly copied table instead of mutating the old one, so a
+ * reader always sees a consistent chain.
+ *
+ * The size is kept as one counter per segment and summed on demand, so it is
+ * exact when the set is not being modified and an estimate otherwise.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class ConcurrentHashSet<T> implements Set<T> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int MAXIMUM_SEGMENTS = 1 << 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Hasher<? super T> hasher;
+    private final Segment<T>[] segments;
+    private final int segmentShift;     // Shifts the high hash bits down to a segment index.
+
+    /**
+     * A chain element. Only next may change after creation.
+     */
+    private static class Node<T> {
+        final int hash;
+        final T elem;
+        volatile Node<T> next;
+
+        Node(int hash, T elem, Node<T> next) {
+            this.hash = hash;
+            this.elem = elem;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A chained hash table guarding its mutations with its own lock.
+     */
+    private static class Segment<T> {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile AtomicReferenceArray<Node<T>> table;
+        volatile int count;
+
+        Segment(int capacity) {
+            table = new AtomicReferenceArray<>(capacity);
+        }
+
+        boolean contains(int hash, T elem) {
+            AtomicReferenceArray<Node<T>> t = table;
+            for(Node<T> n = t.get(hash & (t.length() - 1)); n != null; n = n.next) {
+                if(n.hash == hash && n.elem.equals(elem)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean add(int hash, T elem) {
+            lock.lock();
+            try {
+                if(contains(hash, elem)) {
+                    return false;
+                }
+                AtomicReferenceArray<Node<T>> t = table;
+                int index = hash & (t.length() - 1);
+                t.set(index, new Node<>(hash, elem, t.get(index)));
+                count++;
+                if(count > t.length() * 3 / 4) {
+                    grow();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean remove(int hash, T elem) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<Node<T>> t = table;
+                int index = hash & (t.length() - 1);
+                Node<T> prev = null;
+                for(Node<T> n = t.get(index); n != null; prev = n, n = n.next) {
+                    if(n.hash == hash && n.elem.equals(elem)) {
+                        if(prev == null) {
+                            t.set(index, n.next);
+                        } else {
+                            prev.next = n.next;
+                        }
+                        count--;
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Copies the nodes to a table twice as large and publishes it.
+         * Readers still traversing the old table are unaffected since its
+         * nodes are never relinked. Must be called with the lock held.
+         */
+        private void grow() {
+            AtomicReferenceArray<Node<T>> oldTable = table;
+            if(oldTable.length() >= MAXIMUM_CAPACITY) {
+                return;
+            }
+            AtomicReferenceArray<Node<T>> newTable =
+                new AtomicReferenceArray<>(oldTable.length() * 2);
+            int mask = newTable.length() - 1;
+            for(int i = 0; i < oldTable.length(); i++) {
+                for(Node<T> n = oldTable.get(i); n != null; n = n.next) {
+                    int index = n.hash & mask;
+                    newTable.set(index, new Node<>(n.hash, n.elem, newTable.get(index)));
+                }
+            }
+            table = newTable;
+        }
+    }
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it grows, split for the default amount of concurrent
+     * writers.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public ConcurrentHashSet(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL, Hasher.defaultHasher());
+    }
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it grows and hashes its elements with the given
+     * strategy.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public ConcurrentHashSet(int capacity, Hasher<? super T> hasher) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL, hasher);
+    }
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it grows, with one lock per segment for the given
+     * amount of concurrent writers (rounded up to a power of two).
+     *
+     * @throws IllegalArgumentException if capacity <= 0 or
+     * concurrencyLevel <= 0.
+     */
+    public ConcurrentHashSet(int capacity, int concurrencyLevel, Hasher<? super T> hasher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be a positive, non-zero value! Provided: " + capacity);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException(
+                "concurrencyLevel must be a positive, non-zero value! Provided: "
+                + concurrencyLevel);
+        }
+        this.hasher = hasher;
+        int numSegments = 1;
+        int shift = 32;
+        while(numSegments < concurrencyLevel && numSegments < MAXIMUM_SEGMENTS) {
+            numSegments *= 2;
+            shift--;
+        }
+        segmentShift = shift;
+        int segmentCapacity = 2;
+        while(segmentCapacity * numSegments * 3 / 4 < capacity
+                && segmentCapacity < MAXIMUM_CAPACITY) {
+            segmentCapacity *= 2;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"}) // for this declaration only
+        Segment<T>[] s = new Segment[numSegments];
+        for(int i = 0; i < numSegments; i++) {
+            s[i] = new Segment<>(segmentCapacity);
+        }
+        segments = s;
+    }
+
+    /**
+     * Adds the given element to the set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to add to the set.
+     * @return true if the set did not contain the element, otherwise false.
+     */
+    public boolean add(T elem) {
+        int hash = hasher.hash(elem);
+        return segmentFor(hash).add(hash, elem);
+    }
+
+    /**
+     * Removes the given element from the dictionary, if it is present.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to remove from the set.
+     * @return true if the set contained the element, false otherwise.
+     */
+    public boolean remove(T elem) {
+        int hash = hasher.hash(elem);
+        return segmentFor(hash).remove(hash, elem);
+    }
+
+    /**
+     * Check if an element is in the Set. Never blocks.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to look for.
+     * @return true if the element is in the set, false otherwise.
+     */
+    public boolean contains(T elem) {
+        int hash = hasher.hash(elem);
+        return segmentFor(hash).contains(hash, elem);
+    }
+
+    /**
+     * Returns the number of elements in this set, summed over the segment
+     * counters without locking. Exact when no other thread is modifying the
+     * set.
+     *
+     * Complexity: O(number of segments).
+     *
+     * @return The amount of elements in this set.
+     */
+    public int size() {
+        int size = 0;
+        for(Segment<T> s : segments) {
+            size += s.count;
+        }
+        return size;
+    }
+
+    private Segment<T> segmentFor(int hash) {
+        // Shifting an int by 32 is a no-op, so a single segment is special.
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+}
@@ -0,0 +1,161 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for the ConcurrentHashSet implementation of the Set interface. Runs
+ * the SetTest and HashSetTest tests single-threaded, as well as stress tests
+ * with several threads using the same set.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class ConcurrentHashSetTest extends HashSetTest {
+    private static final int NUM_THREADS = 8;
+    private static final int ELEMENTS_PER_THREAD = 20000;
+
+    @Override
+    protected <E> Set<E> getSet(int capacity, Hasher<? super E> hasher) {
+        return new ConcurrentHashSet<E>(capacity, hasher);
+    }
+
+    @Test
+    public void concurrentAddsOfDisjointElementsAreAllKept() throws Exception {
+        // Arrange
+        // A small initial capacity makes the segments grow while in use
+        Set<Integer> set = new ConcurrentHashSet<Integer>(1);
+
+        // Act
+        runConcurrently(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                assertTrue(set.add(thread * ELEMENTS_PER_THREAD + i));
+            }
+        });
+
+        // Assert
+        assertThat(set.size(), equalTo(NUM_THREADS * ELEMENTS_PER_THREAD));
+        for (int i = 0; i < NUM_THREADS * ELEMENTS_PER_THREAD; i++) {
+            assertThat(set.contains(i), is(true));
+        }
+    }
+
+    @Test
+    public void concurrentAddsOfSameElementsSucceedOncePerElement() throws Exception {
+        // Arrange
+        Set<Integer> set = new ConcurrentHashSet<Integer>(1);
+        AtomicInteger successfulAdds = new AtomicInteger();
+
+        // Act
+        runConcurrently(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                if (set.add(i)) {
+                    successfulAdds.incrementAndGet();
+                }
+            }
+        });
+
+        // Assert
+        assertThat(successfulAdds.get(), equalTo(ELEMENTS_PER_THREAD));
+        assertThat(set.size(), equalTo(ELEMENTS_PER_THREAD));
+    }
+
+    @Test
+    public void concurrentRemovesSucceedOncePerElement() throws Exception {
+        // Arrange
+        Set<Integer> set = new ConcurrentHashSet<Integer>(1);
+        for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+            set.add(i);
+        }
+        AtomicInteger successfulRemoves = new AtomicInteger();
+
+        // Act
+        runConcurrently(thread -> {
+            for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+                if (set.remove(i)) {
+                    successfulRemoves.incrementAndGet();
+                }
+            }
+        });
+
+        // Assert
+        assertThat(successfulRemoves.get(), equalTo(ELEMENTS_PER_THREAD));
+        assertThat(set.size(), equalTo(0));
+    }
+
+    @Test
+    public void readersAlwaysSeeStableElementsWhileOthersAreModified() throws Exception {
+        // Arrange
+        // Even elements stay in the set, odd elements are added and removed
+        // by the writers while the readers look for the even ones.
+        Set<Integer> set = new ConcurrentHashSet<Integer>(1);
+        for (int i = 0; i < ELEMENTS_PER_THREAD; i += 2) {
+            set.add(i);
+        }
+        AtomicBoolean missing = new AtomicBoolean(false);
+
+        // Act
+        runConcurrently(thread -> {
+            if (thread % 2 == 0) {
+                for (int i = 1; i < ELEMENTS_PER_THREAD; i += 2) {
+                    set.add(i);
+                    set.remove(i);
+                }
+            } else {
+                for (int i = 0; i < ELEMENTS_PER_THREAD; i += 2) {
+                    if (!set.contains(i)) {
+                        missing.set(true);
+                    }
+                }
+            }
+        });
+
+        // Assert
+        assertThat(missing.get(), is(false));
+        assertThat(set.size(), equalTo(ELEMENTS_PER_THREAD / 2));
+    }
+
+    /**
+     * Runs the task in NUM_THREADS threads that start at the same time, and
+     * waits for all of them. Errors thrown in a thread are rethrown.
+     *
+     * @param task The work of one thread, given the index of the thread.
+     */
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < NUM_THREADS; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(thread);
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError(errors.get(0));
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -1,92 +1,184 @@
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.TreeSet;
 
 /**
  * A hash table-based implementation of the Set interface.
  *
+ * Bucket tables always have a power-of-two length, so a bucket is selected by
+ * masking the low bits of the hash. Hashes come from a Hasher, which by
+ * default mixes the bits of hashCode so that weak hash codes still spread.
+ *
+ * The table grows once the number of elements exceeds capacity * loadFactor.
+ * Growing is done incrementally: the old table is kept around and a few of
+ * its buckets are moved over on every operation, so a single call never has
+ * to rehash the whole set. The number of buckets moved per operation is
+ * chosen at each resize so that the old table is drained before the next
+ * resize, however small the load factor is.
+ *
+ * Buckets are linked lists, but a bucket whose chain grows past
+ * TREEIFY_THRESHOLD is turned into a balanced tree (a TreeSet ordered by hash
+ * and then by compareTo) if all of its elements are of the same Comparable
+ * class. This bounds lookups among many colliding keys to O(log n). As with
+ * TreeSet, compareTo is assumed to be consistent with equals. A tree bucket
+ * that shrinks to UNTREEIFY_THRESHOLD elements becomes a list again.
+ *
  * @author Erik Vanhainen
  * @version 6-02-2019
  */
 public class HashSet<T> implements Set<T> {
-    private List<T>[] table;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int REHASH_STEPS = 4;  // Least buckets moved per operation.
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    private final Hasher<? super T> hasher;
+    private final Comparator<T> treeOrder;
+    private Collection<T>[] table;
+    private Collection<T>[] oldTable;   // Table being drained by a resize, or null.
+    private int rehashIndex;            // Next bucket of oldTable to move.
+    private int rehashSteps = REHASH_STEPS; // Buckets moved per operation.
+    private final double loadFactor;
     private int size = 0;
 
     /**
-     * Creates a hash table with the given capacity (amount of buckets).
+     * Creates a hash table with the given capacity (amount of buckets),
+     * rounded up to a power of two.
      *
      * @throws IllegalArgumentException if capacity <= 0.
      */
     public HashSet(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a hash table with the given capacity (amount of buckets) that
+     * hashes its elements with the given strategy.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public HashSet(int capacity, Hasher<? super T> hasher) {
+        this(capacity, DEFAULT_LOAD_FACTOR, hasher);
+    }
+
+    /**
+     * Creates a hash table with the given initial capacity (amount of
+     * buckets) that grows when size exceeds capacity * loadFactor.
+     *
+     * @throws IllegalArgumentException if capacity <= 0 or loadFactor <= 0.
+     */
+    public HashSet(int capacity, double loadFactor) {
+        this(capacity, loadFactor, Hasher.defaultHasher());
+    }
+
+    /**
+     * Creates a hash table with the given initial capacity (amount of
+     * buckets) that grows when size exceeds capacity * loadFactor, and
+     * hashes its elements with the given strategy.
+     *
+     * @throws IllegalArgumentException if capacity <= 0 or loadFactor <= 0.
+     */
+    public HashSet(int capacity, double loadFactor, Hasher<? super T> hasher) {
         if (capacity <= 0) {
             throw new IllegalArgumentException(
                 "capacity must be a positive, non-zero value! Provided: " + capacity);
         }
-
-        @SuppressWarnings("unchecked") // for this declaration only
-        List<T>[] t = new LinkedList[capacity];
-        table = t;
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException(
+                "loadFactor must be a positive, non-zero value! Provided: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.hasher = hasher;
+        this.treeOrder = (a, b) -> {
+            int cmp = Integer.compare(hasher.hash(a), hasher.hash(b));
+            if(cmp != 0) {
+                return cmp;
+            }
+            @SuppressWarnings("unchecked") // checked by comparableClassOf
+            Comparable<Object> c = (Comparable<Object>) a;
+            return c.compareTo(b);
+        };
+        table = newTable(tableSizeFor(capacity));
     }
 
     /**
      * Adds the given element to the set.
      *
-     * Complexity: O(1) expected time.
+     * Complexity: O(1) expected time, O(log n) worst case for comparable
+     * elements.
      *
      * @param elem An element to add to the set.
      * @return true if the set did not contain the element, otherwise false.
      */
     public boolean add(T elem) {
-        int index = Math.abs(elem.hashCode() % table.length);
-        if(table[index] == null) {
-            table[index] = new LinkedList<T>();
-        }
-        if(table[index].contains(elem)) {
+        rehashStep();
+        int hash = hasher.hash(elem);
+        Collection<T>[] t = tableFor(hash);
+        int index = hash & (t.length - 1);
+        if(contains(t[index], elem)) {
             return false;
-        } else {
-            table[index].add(elem);
-            size++;
-            return true;
         }
+        insert(t, index, elem);
+        size++;
+        if(size > loadFactor * table.length) {
+            grow();
+        }
+        return true;
     }
 
     /**
      * Removes the given element from the dictionary, if it is present.
      *
-     * Complexity: O(1) expected time.
+     * Complexity: O(1) expected time, O(log n) worst case for comparable
+     * elements.
      *
      * @param elem An element to remove from the set.
      * @return true if the set contained the element, false otherwise.
      */
     public boolean remove(T elem) {
-        int index = Math.abs(elem.hashCode() % table.length);
-        if(table[index] == null) {
+        rehashStep();
+        int hash = hasher.hash(elem);
+        Collection<T>[] t = tableFor(hash);
+        int index = hash & (t.length - 1);
+        Collection<T> bucket = t[index];
+        if(bucket == null) {
             return false;
         }
-        if(table[index].contains(elem)) {
-            size--;
-            return table[index].remove(elem);
+        boolean removed;
+        if(bucket instanceof TreeSet && !fitsTree(bucket, elem)) {
+            removed = removeByScan(bucket, elem);
         } else {
+            removed = bucket.remove(elem);
+        }
+        if(!removed) {
             return false;
         }
+        if(bucket instanceof TreeSet && bucket.size() <= UNTREEIFY_THRESHOLD) {
+            t[index] = new LinkedList<T>(bucket);
+        }
+        size--;
+        return true;
     }
 
     /**
      * Check if an element is in the Set.
      *
-     * Complexity: O(1) expected time.
+     * Complexity: O(1) expected time, O(log n) worst case for comparable
+     * elements.
      *
      * @param elem An element to look for.
      * @return true if the element is in the set, false otherwise.
      */
     public boolean contains(T elem) {
-        int index = Math.abs(elem.hashCode() % table.length);
-        if(table[index] == null) {
-            return false;
-        }
-        if(table[index].contains(elem)) {
-            return true;
-        }
-        return false;
+        rehashStep();
+        int hash = hasher.hash(elem);
+        Collection<T>[] t = tableFor(hash);
+        return contains(t[hash & (t.length - 1)], elem);
     }
 
     /**
@@ -99,4 +191,209 @@ public class HashSet<T> implements Set<T> {
     public int size() {
         return size;
     }
+
+    /**
+     * Finds the table that holds the bucket for the given hash. While a
+     * resize is in progress, buckets of the old table that have not been
+     * moved yet are still the home of their elements.
+     *
+     * @param hash The hash of an element.
+     * @return The table to index with the hash.
+     */
+    private Collection<T>[] tableFor(int hash) {
+        if(oldTable != null && (hash & (oldTable.length - 1)) >= rehashIndex) {
+            return oldTable;
+        }
+        return table;
+    }
+
+    /**
+     * Checks if a bucket contains the given element. Elements that cannot be
+     * compared with those of a tree bucket are looked for with equals.
+     *
+     * @param bucket A bucket, or null.
+     * @param elem An element to look for.
+     * @return true if the bucket contains the element.
+     */
+    private static boolean contains(Collection<?> bucket, Object elem) {
+        if(bucket == null) {
+            return false;
+        }
+        if(bucket instanceof TreeSet && !fitsTree(bucket, elem)) {
+            for(Object e : bucket) {
+                if(e.equals(elem)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return bucket.contains(elem);
+    }
+
+    /**
+     * Adds an element that is known not to be in the set to a bucket,
+     * turning the bucket into a tree if its chain becomes too long, or back
+     * into a list if the element cannot be ordered with the tree.
+     */
+    private void insert(Collection<T>[] t, int index, T elem) {
+        if(t[index] == null) {
+            t[index] = new LinkedList<T>();
+        } else if(t[index] instanceof TreeSet && !fitsTree(t[index], elem)) {
+            t[index] = new LinkedList<T>(t[index]);
+        }
+        t[index].add(elem);
+        if(t[index] instanceof LinkedList && t[index].size() >= TREEIFY_THRESHOLD) {
+            t[index] = treeify(t[index]);
+        }
+    }
+
+    /**
+     * Converts a chain to a tree, if all its elements are of the same
+     * class and that class is comparable to itself.
+     *
+     * @return The tree, or the chain itself if it cannot be ordered.
+     */
+    private Collection<T> treeify(Collection<T> chain) {
+        Iterator<T> it = chain.iterator();
+        Class<?> c = comparableClassOf(it.next());
+        if(c == null) {
+            return chain;
+        }
+        while(it.hasNext()) {
+            if(it.next().getClass() != c) {
+                return chain;
+            }
+        }
+        TreeSet<T> tree = new TreeSet<T>(treeOrder);
+        tree.addAll(chain);
+        return tree;
+    }
+
+    /**
+     * @return true if elem can be compared with the elements of the tree.
+     */
+    private static boolean fitsTree(Collection<?> tree, Object elem) {
+        return elem.getClass() == tree.iterator().next().getClass();
+    }
+
+    /**
+     * Removes the element by comparing it with equals to every element of
+     * the bucket.
+     */
+    private static boolean removeByScan(Collection<?> bucket, Object elem) {
+        Iterator<?> it = bucket.iterator();
+        while(it.hasNext()) {
+            if(it.next().equals(elem)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the class of x if it is of the form "class C implements
+     * Comparable<C>", otherwise null.
+     */
+    private static Class<?> comparableClassOf(Object x) {
+        if(!(x instanceof Comparable)) {
+            return null;
+        }
+        Class<?> c = x.getClass();
+        for(Type type : c.getGenericInterfaces()) {
+            if(type instanceof ParameterizedType) {
+                ParameterizedType p = (ParameterizedType) type;
+                if(p.getRawType() == Comparable.class
+                        && p.getActualTypeArguments()[0] == c) {
+                    return c;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts moving the elements to a table with twice as many buckets. The
+     * choice of rehashSteps drains the old table before the add that causes
+     * the next grow, so a resize is never found in progress here; should one
+     * be, it is finished first.
+     */
+    private void grow() {
+        if(table.length >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        while(oldTable != null) {
+            rehashStep();
+        }
+        oldTable = table;
+        table = newTable(table.length * 2);
+        rehashIndex = 0;
+
+        // Every add moves rehashSteps buckets, so spread the old buckets over
+        // the adds before the one that causes the next grow. A small load
+        // factor leaves few adds per bucket, and needs more steps per
+        // operation; with no adds left, as in a tiny table, move them now.
+        long addsBeforeNextGrow = (long) Math.floor(loadFactor * table.length) - size;
+        if(addsBeforeNextGrow <= 0) {
+            rehashSteps = oldTable.length;
+            rehashStep();
+            return;
+        }
+        long steps = (oldTable.length + addsBeforeNextGrow - 1) / addsBeforeNextGrow;
+        rehashSteps = (int) Math.max(REHASH_STEPS, steps);
+    }
+
+    /**
+     * Moves a few buckets from the old table to the current one, if a resize
+     * is in progress.
+     */
+    private void rehashStep() {
+        if(oldTable == null) {
+            return;
+        }
+        int end = Math.min(rehashIndex + rehashSteps, oldTable.length);
+        for(; rehashIndex < end; rehashIndex++) {
+            Collection<T> bucket = oldTable[rehashIndex];
+            if(bucket == null) {
+                continue;
+            }
+            for(T elem : bucket) {
+                insert(table, hasher.hash(elem) & (table.length - 1), elem);
+            }
+            oldTable[rehashIndex] = null;
+        }
+        if(rehashIndex == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    /**
+     * @return The number of buckets in the current table.
+     */
+    int capacity() {
+        return table.length;
+    }
+
+    /**
+     * @return true if the buckets of an old table are still being moved.
+     */
+    boolean isResizing() {
+        return oldTable != null;
+    }
+
+    /**
+     * @return The smallest power of two that is at least capacity.
+     */
+    private static int tableSizeFor(int capacity) {
+        int length = 1;
+        while(length < capacity && length < MAXIMUM_CAPACITY) {
+            length *= 2;
+        }
+        return length;
+    }
+
+    @SuppressWarnings("unchecked") // generic array creation
+    private static <T> Collection<T>[] newTable(int capacity) {
+        return new Collection[capacity];
+    }
 }
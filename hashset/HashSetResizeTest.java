@@ -0,0 +1,41 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+/**
+ * Test for the incremental resizing of HashSet. Kept apart from HashSetTest,
+ * whose tests are also run against the other hash set implementations.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class HashSetResizeTest {
+
+    @Test
+    public void resizeIsDrainedBeforeNextGrowForAnyLoadFactor() {
+        // A small load factor leaves few adds between two grows, so each add
+        // has to move more buckets for the old table to be drained in time
+        for (double loadFactor : new double[] {0.05, 0.1, 0.25, 0.75, 4.0}) {
+            // Arrange
+            HashSet<Integer> set = new HashSet<>(1, loadFactor);
+            int numElements = 100000;
+
+            // Act, Assert
+            for (int i = 0; i < numElements; i++) {
+                int capacity = set.capacity();
+                boolean resizing = set.isResizing();
+                set.add(i);
+                if (set.capacity() != capacity) {
+                    assertFalse("grew during a resize at load factor " + loadFactor,
+                        resizing);
+                }
+            }
+            assertThat(set.size(), equalTo(numElements));
+            for (int i = 0; i < numElements; i++) {
+                assertThat(set.contains(i), is(true));
+            }
+        }
+    }
+}
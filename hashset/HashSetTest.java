@@ -20,6 +20,7 @@ import java.util.Arrays;
 public class HashSetTest extends SetTest {
     private Set<SingleHashUnequal> set;
     private SingleHashUnequal[] uniqueObjsWithEqualHashes;
+    private final int CAPACITY = 20;
 
     /**
      * Returns an implementation of Set that can hold at least 'minCapacity'
@@ -30,7 +31,31 @@ public class HashSetTest extends SetTest {
      * @return An implementation of Set.
      */
     protected Set<Integer> getIntegerSet(int minCapacity) {
-        return new HashSet<Integer>(minCapacity);
+        return getSet(minCapacity);
+    }
+
+    /**
+     * Returns the hash-based implementation of Set under test, created with
+     * the given capacity and the default Hasher.
+     *
+     * @param capacity The initial capacity of the Set.
+     * @return A hash-based implementation of Set.
+     */
+    protected <E> Set<E> getSet(int capacity) {
+        return getSet(capacity, Hasher.defaultHasher());
+    }
+
+    /**
+     * Returns the hash-based implementation of Set under test, created with
+     * the given capacity and Hasher. Subclasses override this to run the
+     * hashing tests against another implementation.
+     *
+     * @param capacity The initial capacity of the Set.
+     * @param hasher The hashing strategy of the Set.
+     * @return A hash-based implementation of Set.
+     */
+    protected <E> Set<E> getSet(int capacity, Hasher<? super E> hasher) {
+        return new HashSet<E>(capacity, hasher);
     }
 
     @Override
@@ -42,7 +67,7 @@ public class HashSetTest extends SetTest {
 
         int numDummies = 10;
         uniqueObjsWithEqualHashes = new SingleHashUnequal[numDummies];
-        set = new HashSet<SingleHashUnequal>(numDummies * 2);
+        set = getSet(numDummies * 2);
         for (int i = 0; i < numDummies; i++) {
             SingleHashUnequal dummy = new SingleHashUnequal();
             set.add(dummy);
@@ -78,7 +103,7 @@ public class HashSetTest extends SetTest {
     public void addIsTrueForUniqueElementsWithEqualHashes() {
         // Arrange
         int capacity = uniqueObjsWithEqualHashes.length;
-        Set<SingleHashUnequal> set = new HashSet<SingleHashUnequal>(capacity);
+        Set<SingleHashUnequal> set = getSet(capacity);
         Arrays
             .stream(uniqueObjsWithEqualHashes)
             // Act
@@ -91,7 +116,7 @@ public class HashSetTest extends SetTest {
     public void addUniqueElementsWithEqualHashesIncrementsSize() {
         // Arrange
         int capacity = uniqueObjsWithEqualHashes.length;
-        Set<SingleHashUnequal> set = new HashSet<SingleHashUnequal>(capacity);
+        Set<SingleHashUnequal> set = getSet(capacity);
         int expectedSize = 0;
         for (SingleHashUnequal elem : uniqueObjsWithEqualHashes) {
             expectedSize++;
@@ -105,7 +130,7 @@ public class HashSetTest extends SetTest {
     @Test
     public void removeUniqueElementsWithEqualHashesDecrementsSize() {
         int capacity = uniqueObjsWithEqualHashes.length;
-        Set<SingleHashUnequal> set = new HashSet<SingleHashUnequal>(capacity);
+        Set<SingleHashUnequal> set = getSet(capacity);
         for (SingleHashUnequal elem : uniqueObjsWithEqualHashes) {
             set.add(elem);
         }
@@ -142,6 +167,76 @@ public class HashSetTest extends SetTest {
         assertThat(removed, is(false));
     }
 
+    @Test
+    public void elementsAreKeptWhenSetGrowsPastCapacity() {
+        // Adding far more elements than buckets forces several resizes
+        Set<Integer> set = getSet(1);
+        int numElements = 1000;
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.add(i), is(true));
+        }
+        assertThat(set.size(), equalTo(numElements));
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.contains(i), is(true));
+            assertThat(set.remove(i), is(true));
+        }
+        assertThat(set.size(), equalTo(0));
+    }
+
+    @Test
+    public void suppliedHasherIsUsedForHashing() {
+        // Arrange
+        int[] calls = new int[1];
+        Set<Integer> set = getSet(CAPACITY, elem -> {
+            calls[0]++;
+            return elem;
+        });
+
+        // Act
+        set.add(1);
+        set.contains(1);
+        set.remove(1);
+
+        // Assert
+        assertThat(calls[0] >= 3, is(true));
+    }
+
+    @Test
+    public void elementsAreFoundWhenHasherMapsAllToSameHash() {
+        // Arrange
+        Set<Integer> set = getSet(CAPACITY, elem -> 0);
+        int numElements = 100;
+        for (int i = 0; i < numElements; i++) {
+            set.add(i);
+        }
+
+        // Act, Assert
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.contains(i), is(true));
+        }
+        assertThat(set.contains(numElements), is(false));
+        assertThat(set.size(), equalTo(numElements));
+    }
+
+    @Test
+    public void comparableElementsWithEqualHashesCanBeAddedAndRemoved() {
+        // Enough colliding elements to have the bucket turned into a tree, and
+        // then back into a list as they are removed
+        Set<SingleHashComparable> set = getSet(CAPACITY);
+        int numElements = 100;
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.add(new SingleHashComparable(i)), is(true));
+            assertThat(set.add(new SingleHashComparable(i)), is(false));
+        }
+        assertThat(set.contains(new SingleHashComparable(numElements)), is(false));
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.contains(new SingleHashComparable(i)), is(true));
+            assertThat(set.remove(new SingleHashComparable(i)), is(true));
+            assertThat(set.contains(new SingleHashComparable(i)), is(false));
+            assertThat(set.size(), equalTo(numElements - i - 1));
+        }
+    }
+
     /**
      * A helper class for testing hash collisions. Instances equal only
      * themselves, and all instances have the same hashCode.
@@ -159,4 +254,34 @@ public class HashSetTest extends SetTest {
             return HASH;
         }
     }
+
+    /**
+     * A helper class for testing hash collisions between comparable elements.
+     * Instances are equal if their values are, and all instances have the
+     * same hashCode.
+     */
+    private static class SingleHashComparable implements Comparable<SingleHashComparable> {
+        private static final int HASH = 0;
+        private final int value;
+
+        SingleHashComparable(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(SingleHashComparable other) {
+            return Integer.compare(value, other.value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SingleHashComparable
+                && ((SingleHashComparable) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return HASH;
+        }
+    }
 }
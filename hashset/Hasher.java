@@ -0,0 +1,48 @@
+/**
+ * A hashing strategy for the elements of a hash-based Set. Lets callers
+ * supply a stronger or a cheaper hash function than the element's own
+ * hashCode for a given key type.
+ *
+ * The hash-based sets index power-of-two tables with the low bits of the
+ * returned value, so a Hasher should spread its entropy over all bits.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public interface Hasher<T> {
+
+    /**
+     * Computes the hash of the given element. Elements that are equal must
+     * have equal hashes.
+     *
+     * @param elem An element to hash.
+     * @return The hash of the element.
+     */
+    int hash(T elem);
+
+    /**
+     * Returns the default strategy, which mixes the bits of hashCode so that
+     * weak hash codes (e.g. sequential integers) do not cluster in the low
+     * bits.
+     *
+     * @return A Hasher based on Object.hashCode.
+     */
+    static <T> Hasher<T> defaultHasher() {
+        return elem -> mix(elem.hashCode());
+    }
+
+    /**
+     * The Murmur3 32-bit finalizer. Every input bit affects every output bit.
+     *
+     * @param h A hash code.
+     * @return The mixed hash code.
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * An open addressing implementation of the IntSet interface.
+ *
+ * The elements are stored unboxed in a flat int array, hashed with
+ * Hasher.mix, and collisions are resolved with linear probing, so none of
+ * the operations allocate unless the table has to grow. The value 0 marks an
+ * empty slot; whether 0 itself is in the set is kept in a separate flag.
+ * Removal shifts the following elements back instead of leaving tombstones.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class IntHashSet implements IntSet {
+    private static final int EMPTY = 0;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] table;
+    private int mask;               // table.length - 1
+    private boolean hasZero;        // true if EMPTY itself is in the set.
+    private int size = 0;
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it has to grow.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public IntHashSet(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be a positive, non-zero value! Provided: " + capacity);
+        }
+        int length = 2;
+        while(length / 2 < capacity && length < MAXIMUM_CAPACITY) {
+            length *= 2;
+        }
+        table = new int[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the given element to the set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to add to the set.
+     * @return true if the set did not contain the element, otherwise false.
+     */
+    public boolean add(int elem) {
+        if(elem == EMPTY) {
+            if(hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int index = Hasher.mix(elem) & mask;
+        while(table[index] != EMPTY) {
+            if(table[index] == elem) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = elem;
+        size++;
+        if(size > table.length / 2) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given element from the set, if it is present.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to remove from the set.
+     * @return true if the set contained the element, false otherwise.
+     */
+    public boolean remove(int elem) {
+        if(elem == EMPTY) {
+            if(!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(elem);
+        if(index < 0) {
+            return false;
+        }
+        shiftBack(index);
+        size--;
+        return true;
+    }
+
+    /**
+     * Check if an element is in the Set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to look for.
+     * @return true if the element is in the set, false otherwise.
+     */
+    public boolean contains(int elem) {
+        if(elem == EMPTY) {
+            return hasZero;
+        }
+        return indexOf(elem) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @return The amount of elements in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The slot of the (non-zero) element, or -1 if it is not in the
+     * set.
+     */
+    private int indexOf(int elem) {
+        int index = Hasher.mix(elem) & mask;
+        while(table[index] != EMPTY) {
+            if(table[index] == elem) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the given slot and moves back the elements after it that would
+     * otherwise become unreachable from their home slot.
+     */
+    private void shiftBack(int gap) {
+        int index = (gap + 1) & mask;
+        while(table[index] != EMPTY) {
+            int home = Hasher.mix(table[index]) & mask;
+            if(((index - home) & mask) >= ((index - gap) & mask)) {
+                table[gap] = table[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        table[gap] = EMPTY;
+    }
+
+    /**
+     * Moves all elements to a table twice as large.
+     */
+    private void resize() {
+        if(table.length >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        int[] oldTable = table;
+        table = new int[oldTable.length * 2];
+        mask = table.length - 1;
+        for(int elem : oldTable) {
+            if(elem != EMPTY) {
+                int index = Hasher.mix(elem) & mask;
+                while(table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = elem;
+            }
+        }
+    }
+}
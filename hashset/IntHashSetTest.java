@@ -0,0 +1,92 @@
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+
+/**
+ * Test class for the IntHashSet implementation of the IntSet interface.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class IntHashSetTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(5);
+
+    private IntSet set;
+    private final int CAPACITY = 20;
+    private int[] uniqueSetElements;
+    private int[] elementsNotInSet;
+
+    @Before
+    public void setUp() {
+        set = new IntHashSet(CAPACITY);
+        // 0 is the empty marker of the table, so it is important to include
+        uniqueSetElements =
+            new int[] {-234, 32, 443, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -231};
+        elementsNotInSet = Arrays.stream(uniqueSetElements).map(elem -> elem - 2).toArray();
+
+        for (int elem : uniqueSetElements) {
+            set.add(elem);
+        }
+    }
+
+    @Test
+    public void containsIsTrueWhenElementIsInSet() {
+        for (int elem : uniqueSetElements) {
+            assertThat(set.contains(elem), is(true));
+        }
+    }
+
+    @Test
+    public void containsIsFalseWhenElementIsNotInSet() {
+        for (int elem : elementsNotInSet) {
+            assertThat(set.contains(elem), is(false));
+        }
+    }
+
+    @Test
+    public void containsIsFalseForRemovedElements() {
+        for (int elem : uniqueSetElements) {
+            set.remove(elem);
+            assertThat(set.contains(elem), is(false));
+        }
+    }
+
+    @Test
+    public void addIsFalseForDuplicates() {
+        for (int elem : uniqueSetElements) {
+            assertThat(set.add(elem), is(false));
+        }
+        assertThat(set.size(), equalTo(uniqueSetElements.length));
+    }
+
+    @Test
+    public void removeIsTrueOnlyOnceForElementsInSet() {
+        for (int elem : uniqueSetElements) {
+            int tempSize = set.size();
+            assertThat(set.remove(elem), is(true));
+            assertThat(set.remove(elem), is(false));
+            assertThat(set.size(), is(tempSize - 1));
+        }
+    }
+
+    @Test
+    public void elementsAreKeptWhenSetGrowsPastCapacity() {
+        IntSet set = new IntHashSet(1);
+        int numElements = 1000;
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.add(i), is(true));
+        }
+        assertThat(set.size(), equalTo(numElements));
+        for (int i = 0; i < numElements; i++) {
+            assertThat(set.remove(i), is(true));
+        }
+        assertThat(set.size(), equalTo(0));
+    }
+}
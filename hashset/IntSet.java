@@ -0,0 +1,48 @@
+/**
+ * An interface describing a set of primitive ints. Duplicates are not
+ * allowed. Mirrors the Set interface without boxing the elements.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public interface IntSet {
+
+    /**
+     * Adds the given element to the set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to add to the set.
+     * @return true if the set did not contain the element, otherwise false.
+     */
+    boolean add(int elem);
+
+    /**
+     * Removes the given element from the set, if it is present.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to remove from the set.
+     * @return true if the set contained the element, false otherwise.
+     */
+    boolean remove(int elem);
+
+    /**
+     * Check if an element is in the Set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to look for.
+     * @return true if the element is in the set, false otherwise.
+     */
+    boolean contains(int elem);
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @return The amount of elements in this set.
+     */
+    int size();
+}
@@ -0,0 +1,92 @@
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+
+/**
+ * Test class for the LongHashSet implementation of the LongSet interface.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class LongHashSetTest {
+    @Rule public Timeout globalTimeout = Timeout.seconds(5);
+
+    private LongSet set;
+    private final int CAPACITY = 20;
+    private long[] uniqueSetElements;
+    private long[] elementsNotInSet;
+
+    @Before
+    public void setUp() {
+        set = new LongHashSet(CAPACITY);
+        // 0 is the empty marker of the table, so it is important to include
+        uniqueSetElements =
+            new long[] {-234, 32, 443, Long.MAX_VALUE, Long.MIN_VALUE, 0, -231, 1L << 40};
+        elementsNotInSet = Arrays.stream(uniqueSetElements).map(elem -> elem - 2).toArray();
+
+        for (long elem : uniqueSetElements) {
+            set.add(elem);
+        }
+    }
+
+    @Test
+    public void containsIsTrueWhenElementIsInSet() {
+        for (long elem : uniqueSetElements) {
+            assertThat(set.contains(elem), is(true));
+        }
+    }
+
+    @Test
+    public void containsIsFalseWhenElementIsNotInSet() {
+        for (long elem : elementsNotInSet) {
+            assertThat(set.contains(elem), is(false));
+        }
+    }
+
+    @Test
+    public void containsIsFalseForRemovedElements() {
+        for (long elem : uniqueSetElements) {
+            set.remove(elem);
+            assertThat(set.contains(elem), is(false));
+        }
+    }
+
+    @Test
+    public void addIsFalseForDuplicates() {
+        for (long elem : uniqueSetElements) {
+            assertThat(set.add(elem), is(false));
+        }
+        assertThat(set.size(), equalTo(uniqueSetElements.length));
+    }
+
+    @Test
+    public void removeIsTrueOnlyOnceForElementsInSet() {
+        for (long elem : uniqueSetElements) {
+            int tempSize = set.size();
+            assertThat(set.remove(elem), is(true));
+            assertThat(set.remove(elem), is(false));
+            assertThat(set.size(), is(tempSize - 1));
+        }
+    }
+
+    @Test
+    public void elementsAreKeptWhenSetGrowsPastCapacity() {
+        LongSet set = new LongHashSet(1);
+        int numElements = 1000;
+        for (long i = 0; i < numElements; i++) {
+            assertThat(set.add(i << 32), is(true));
+        }
+        assertThat(set.size(), equalTo(numElements));
+        for (long i = 0; i < numElements; i++) {
+            assertThat(set.remove(i << 32), is(true));
+        }
+        assertThat(set.size(), equalTo(0));
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * An open addressing implementation of the Set interface.
+ *
+ * Elements are stored directly in a flat array, with their hash codes in a
+ * parallel int array, and collisions are resolved with linear probing. The
+ * table length is a power of two so probing wraps with a mask, and hashes
+ * come from a Hasher that spreads them over the low bits. Removal uses
+ * backward shifting instead of tombstones: the elements following the removed
+ * one are moved back until a gap is found, so probe sequences never contain
+ * deleted slots.
+ *
+ * @author Erik Vanhainen
+ * @version 6-02-2019
+ */
+public class OpenHashSet<T> implements Set<T> {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Hasher<? super T> hasher;
+    private Object[] elements;  // null marks an empty slot.
+    private int[] hashes;       // Hash of the element in the same slot.
+    private int mask;           // elements.length - 1
+    private int size = 0;
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it has to grow.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public OpenHashSet(int capacity) {
+        this(capacity, Hasher.defaultHasher());
+    }
+
+    /**
+     * Creates a hash table that can hold at least the given amount of
+     * elements before it has to grow, and hashes its elements with the given
+     * strategy.
+     *
+     * @throws IllegalArgumentException if capacity <= 0.
+     */
+    public OpenHashSet(int capacity, Hasher<? super T> hasher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be a positive, non-zero value! Provided: " + capacity);
+        }
+        this.hasher = hasher;
+        allocate(tableSizeFor(capacity));
+    }
+
+    /**
+     * Adds the given element to the set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to add to the set.
+     * @return true if the set did not contain the element, otherwise false.
+     */
+    public boolean add(T elem) {
+        int hash = hasher.hash(elem);
+        int index = hash & mask;
+        while(elements[index] != null) {
+            if(hashes[index] == hash && elements[index].equals(elem)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        elements[index] = elem;
+        hashes[index] = hash;
+        size++;
+        if(size > maxSize()) {
+            resize(elements.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given element from the dictionary, if it is present.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to remove from the set.
+     * @return true if the set contained the element, false otherwise.
+     */
+    public boolean remove(T elem) {
+        int index = indexOf(elem);
+        if(index < 0) {
+            return false;
+        }
+        shiftBack(index);
+        size--;
+        return true;
+    }
+
+    /**
+     * Check if an element is in the Set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @param elem An element to look for.
+     * @return true if the element is in the set, false otherwise.
+     */
+    public boolean contains(T elem) {
+        return indexOf(elem) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * Complexity: O(1) expected time.
+     *
+     * @return The amount of elements in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Probes for the given element.
+     *
+     * @param elem An element to look for.
+     * @return The slot of the element, or -1 if it is not in the set.
+     */
+    private int indexOf(T elem) {
+        int hash = hasher.hash(elem);
+        int index = hash & mask;
+        while(elements[index] != null) {
+            if(hashes[index] == hash && elements[index].equals(elem)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the given slot and moves back the elements after it that would
+     * otherwise become unreachable from their home slot.
+     *
+     * @param gap The slot to empty.
+     */
+    private void shiftBack(int gap) {
+        int index = (gap + 1) & mask;
+        while(elements[index] != null) {
+            int home = hashes[index] & mask;
+            // Move the element if the gap lies on its probe path.
+            if(((index - home) & mask) >= ((index - gap) & mask)) {
+                elements[gap] = elements[index];
+                hashes[gap] = hashes[index];
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+        elements[gap] = null;
+    }
+
+    /**
+     * Moves all elements to a new table of the given length.
+     */
+    private void resize(int length) {
+        if(elements.length >= MAXIMUM_CAPACITY) {
+            return;
+        }
+        Object[] oldElements = elements;
+        int[] oldHashes = hashes;
+        allocate(length);
+        for(int i = 0; i < oldElements.length; i++) {
+            if(oldElements[i] != null) {
+                int index = oldHashes[i] & mask;
+                while(elements[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                elements[index] = oldElements[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        elements = new Object[length];
+        hashes = new int[length];
+        mask = length - 1;
+    }
+
+    /**
+     * @return The amount of elements allowed before the table grows, which
+     * keeps the table at most half full.
+     */
+    private int maxSize() {
+        return elements.length / 2;
+    }
+
+    /**
+     * @return The smallest power of two that keeps capacity elements at most
+     * half the table.
+     */
+    private static int tableSizeFor(int capacity) {
+        int length = 2;
+        while(length / 2 < capacity && length < MAXIMUM_CAPACITY) {
+            length *= 2;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Test for the OpenHashSet implementation of the Set interface. Runs the
+ * SetTest and HashSetTest tests against the open addressing table.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-06
+ */
+public class OpenHashSetTest extends HashSetTest {
+
+    @Override
+    protected <E> Set<E> getSet(int capacity, Hasher<? super E> hasher) {
+        return new OpenHashSet<E>(capacity, hasher);
+    }
+}
@@ -1,14 +1,30 @@
+import java.io.IOException;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * A singly linked list.
  *
+ * The list can be iterated and streamed. Iterators are fail-fast: they throw
+ * ConcurrentModificationException if the list is changed after they were
+ * created. They do not support remove.
+ *
  * @author Erik Vanhainen
  * @version 23-01-2019
  */
-public class LinkedList<T> {
+public class LinkedList<T> implements Iterable<T> {
+    private static final int BATCH_UNIT = 1 << 10;  // Size of the first split.
+    private static final int MAX_BATCH = 1 << 25;   // Largest split.
+
     private ListElement<T> first;   // First element in list.
     private ListElement<T> last;    // Last element in list.
     private int size;               // Number of elements in lis.
+    private int modCount;           // Number of changes, for iterators.
 
     /**
      * A list element.
@@ -48,6 +64,7 @@ public class LinkedList<T> {
             first = temp;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -66,6 +83,7 @@ public class LinkedList<T> {
             last = temp;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -121,6 +139,7 @@ public class LinkedList<T> {
         ListElement<T> temp = first;
         first = first.next;
         size--;
+        modCount++;
         if(isEmpty()) {
             clear();
         }
@@ -134,6 +153,7 @@ public class LinkedList<T> {
         first = null;
         last = null;
         size = 0;
+        modCount++;
     }
 
     /**
@@ -168,16 +188,164 @@ public class LinkedList<T> {
      * @return A string representing the list.
      */
     public String toString() {
-        if(isEmpty()) {
-            return "[]";
+        StringBuilder sb = new StringBuilder();
+        try {
+            appendTo(sb, Integer.MAX_VALUE);
+        } catch(IOException e) {
+            throw new AssertionError(e);    // StringBuilder never throws.
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the string representation of this list to out, one element
+     * at a time, in the same format as toString(). If the list has more
+     * than maxElements elements, only the first maxElements are written,
+     * followed by "...", so the output stays bounded for long lists.
+     *
+     * Example, with maxElements 2:
+     *  "[1, 4, ...]"
+     *
+     * @param out Where to write the representation.
+     * @param maxElements The largest number of elements to write.
+     * @throws IOException if out throws it.
+     * @throws IllegalArgumentException if maxElements is negative.
+     */
+    public void appendTo(Appendable out, int maxElements) throws IOException {
+        if(maxElements < 0) {
+            throw new IllegalArgumentException(
+                "maxElements must be non-negative! Provided: " + maxElements);
         }
-        String str = "[";
+        out.append('[');
         ListElement<T> temp = first;
-        for(int i = 0; i < size-1; i++) {
-            str = str.concat(temp.data + ", ");
+        for(int i = 0; temp != null; i++) {
+            if(i > 0) {
+                out.append(", ");
+            }
+            if(i == maxElements) {
+                out.append("...");
+                break;
+            }
+            out.append(String.valueOf(temp.data));
             temp = temp.next;
         }
-        str = str.concat(last.data + "]");
-        return str;
+        out.append(']');
+    }
+
+    /**
+     * Returns an iterator over the elements of this list, from first to
+     * last.
+     *
+     * @return An iterator over the elements.
+     */
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private ListElement<T> next = first;
+            private final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            public T next() {
+                if(modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if(next == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = next.data;
+                next = next.next;
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Creates a spliterator over the elements of this list. A list can only
+     * be walked from the front, so a split copies a batch of elements from
+     * the front into an array, and the batches grow so that a long list is
+     * split into a handful of large parts.
+     *
+     * @return A spliterator over the elements.
+     */
+    public Spliterator<T> spliterator() {
+        return new ListSpliterator();
+    }
+
+    /**
+     * @return A sequential stream of the elements, from first to last.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return A parallel stream of the elements, from first to last.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator over the elements of the list from a given element, which
+     * knows exactly how many elements remain.
+     */
+    private class ListSpliterator implements Spliterator<T> {
+        private ListElement<T> current = first;
+        private int remaining = size;
+        private int batch = 0;      // Size of the last split.
+        private final int expectedModCount = modCount;
+
+        public Spliterator<T> trySplit() {
+            if(remaining <= 1) {
+                return null;
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            Object[] array = new Object[n];
+            for(int i = 0; i < n; i++) {
+                array[i] = current.data;
+                current = current.next;
+            }
+            checkForComodification();
+            batch = n;
+            remaining -= n;
+            return Spliterators.spliterator(array, 0, n, Spliterator.ORDERED);
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            checkForComodification();
+            if(remaining == 0) {
+                return false;
+            }
+            T data = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(data);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super T> action) {
+            for(; remaining > 0; remaining--) {
+                T data = current.data;
+                current = current.next;
+                action.accept(data);
+            }
+            checkForComodification();
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 }
@@ -5,8 +5,13 @@ import static org.junit.Assert.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
 
 /**
  * Test class for LinkedList
@@ -447,6 +452,188 @@ public class LinkedListTest {
             equalTo(Arrays.toString(elements)));
     }
 
+    /**
+     * Tests for appendTo(Appendable, int)
+     */
+
+    /**
+     * Assert that appending all elements gives the
+     * same string as toString.
+     */
+    @Test
+    public void appendToIsSameAsToStringWhenNotTruncated() throws IOException {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        StringBuilder sb = new StringBuilder("list: ");
+        // Act
+        list.appendTo(sb, elements.length);
+        // Assert
+        assertThat(sb.toString(), equalTo("list: " + list.toString()));
+    }
+
+    /**
+     * Assert that only the first maxElements elements
+     * are appended, followed by "...".
+     */
+    @Test
+    public void appendToTruncatesAfterMaxElements() throws IOException {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        StringBuilder sb = new StringBuilder();
+        StringBuilder none = new StringBuilder();
+        // Act
+        list.appendTo(sb, 2);
+        list.appendTo(none, 0);
+        // Assert
+        assertThat(sb.toString(), equalTo("[-919, 388, ...]"));
+        assertThat(none.toString(), equalTo("[...]"));
+    }
+
+    /**
+     * Assert that an empty list is appended as
+     * brackets, even when nothing may be written.
+     */
+    @Test
+    public void appendToIsBracketsWhenListIsEmpty() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        list.appendTo(sb, 0);
+        assertThat(sb.toString(), equalTo("[]"));
+    }
+
+    /**
+     * Assert that a negative maxElements is rejected.
+     */
+    @Test (expected=IllegalArgumentException.class)
+    public void appendToThrowsExceptionWhenMaxElementsIsNegative() throws IOException {
+        list.appendTo(new StringBuilder(), -1);
+    }
+
+    /**
+     * Assert that toString of a long list runs in
+     * linear time.
+     */
+    @Test(timeout=2000)
+    public void toStringOfMillionElementsIsReasonablyFast() {
+        // Arrange
+        for (int i = 0; i < 1000000; i++) {
+            list.addLast(i % 10);
+        }
+        // Act, Assert
+        assertThat(list.toString().length(), equalTo(2 + 1000000 + 2 * 999999));
+    }
+
+    /**
+     * Tests for iterator(), spliterator() and the streams
+     */
+
+    /**
+     * Assert that the iterator returns the elements
+     * from first to last.
+     */
+    @Test
+    public void iteratorReturnsElementsInOrder() {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        // Act, Assert
+        int i = 0;
+        for (int element : list) {
+            assertThat(element, equalTo(elements[i++]));
+        }
+        assertThat(i, equalTo(elements.length));
+    }
+
+    /**
+     * Assert that the iterator of an empty list
+     * has no elements.
+     */
+    @Test (expected=NoSuchElementException.class)
+    public void iteratorThrowsExceptionWhenListIsEmpty() {
+        Iterator<Integer> it = list.iterator();
+        assertFalse(it.hasNext());
+        it.next();
+    }
+
+    /**
+     * Assert that the iterator fails fast when the
+     * list is changed while iterating.
+     */
+    @Test (expected=ConcurrentModificationException.class)
+    public void iteratorThrowsExceptionWhenListIsModified() {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        // Act
+        list.removeFirst();
+        it.next();
+    }
+
+    /**
+     * Assert that a stream has the elements in order.
+     */
+    @Test
+    public void streamHasElementsInOrder() {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        // Act
+        int[] streamed = list.stream().mapToInt(Integer::intValue).toArray();
+        // Assert
+        assertThat(Arrays.toString(streamed), equalTo(Arrays.toString(elements)));
+    }
+
+    /**
+     * Assert that a parallel stream over a long list
+     * has the elements in order.
+     */
+    @Test
+    public void parallelStreamHasElementsInOrder() {
+        // Arrange
+        int numElements = 100000;
+        for (int i = 0; i < numElements; i++) {
+            list.addLast(i);
+        }
+        // Act
+        int[] streamed = list.parallelStream().mapToInt(Integer::intValue).toArray();
+        long evens = list.parallelStream().filter(element -> element % 2 == 0).count();
+        // Assert
+        assertTrue(Arrays.equals(streamed, IntStream.range(0, numElements).toArray()));
+        assertThat(evens, equalTo((long) numElements / 2));
+    }
+
+    /**
+     * Assert that splitting the spliterator gives
+     * parts of exact size that together are the list.
+     */
+    @Test
+    public void spliteratorSplitsIntoExactSizes() {
+        // Arrange
+        int numElements = 5000;
+        for (int i = 0; i < numElements; i++) {
+            list.addLast(i);
+        }
+        Spliterator<Integer> suffix = list.spliterator();
+        // Act
+        Spliterator<Integer> prefix = suffix.trySplit();
+        // Assert
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED));
+        assertThat(prefix.getExactSizeIfKnown() + suffix.getExactSizeIfKnown(),
+            equalTo((long) numElements));
+        int[] next = new int[1];
+        prefix.forEachRemaining(element -> assertThat(element, equalTo(next[0]++)));
+        suffix.forEachRemaining(element -> assertThat(element, equalTo(next[0]++)));
+        assertThat(next[0], equalTo(numElements));
+    }
+
     /**
      * These tests only tests the speed of your implementation.
      * For a correct implementation they should be
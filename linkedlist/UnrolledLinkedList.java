@@ -0,0 +1,221 @@
+import java.util.NoSuchElementException;
+/**
+ * An unrolled list, with the same operations as LinkedList.
+ *
+ * Instead of one list element per value, the values are stored in blocks
+ * (arrays) of a fixed power-of-two size, and the blocks are kept in order in
+ * a directory. Only the first and the last block may be partly filled, so
+ * the block and offset of an index are found with a shift and a mask, and
+ * get is O(1) instead of walking the list. Sequential access reads each
+ * block as one contiguous array.
+ *
+ * The directory is a circular array of blocks, so a block can be added at
+ * either end, or dropped from the front, without moving the others.
+ *
+ * @author Erik Vanhainen
+ * @version 13-02-2019
+ */
+public class UnrolledLinkedList<T> {
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final int blockShift;   // log2 of the block size.
+    private final int blockMask;    // Block size - 1.
+    private Object[][] blocks;      // Circular directory of blocks.
+    private int firstBlock;         // Index of the first block in blocks.
+    private int blockCount;         // Number of blocks in use.
+    private int start;              // Offset of the head in the first block.
+    private int size;               // Number of elements in list.
+
+    /**
+     * Creates an empty list, with blocks of 64 elements.
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param blockSize The number of elements in a block.
+     * @throws IllegalArgumentException if blockSize is not a positive power
+     * of two.
+     */
+    public UnrolledLinkedList(int blockSize) {
+        if(blockSize <= 0 || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException(
+                "blockSize must be a positive power of two! Provided: " + blockSize);
+        }
+        blockShift = Integer.numberOfTrailingZeros(blockSize);
+        blockMask = blockSize - 1;
+        clear();
+    }
+
+    /**
+     * Inserts the given element at the beginning of this list.
+     *
+     * @param element An element to insert into the list.
+     */
+    public void addFirst(T element) {
+        if(start == 0) {
+            // The first block is full (or missing), add one in front of it.
+            ensureDirectoryCapacity();
+            firstBlock = (firstBlock - 1) & (blocks.length - 1);
+            blocks[firstBlock] = new Object[blockMask + 1];
+            blockCount++;
+            start = blockMask + 1;
+        }
+        start--;
+        blocks[firstBlock][start] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the given element at the end of this list.
+     *
+     * @param element An element to insert into the list.
+     */
+    public void addLast(T element) {
+        int position = start + size;
+        if((position >>> blockShift) == blockCount) {
+            ensureDirectoryCapacity();
+            blocks[(firstBlock + blockCount) & (blocks.length - 1)] = new Object[blockMask + 1];
+            blockCount++;
+        }
+        block(position)[position & blockMask] = element;
+        size++;
+    }
+
+    /**
+     * @return The head of the list.
+     * @throws NoSuchElementException if the list is empty.
+     */
+    public T getFirst() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(start);
+    }
+
+    /**
+     * @return The tail of the list.
+     * @throws NoSuchElementException if the list is empty.
+     */
+    public T getLast() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(start + size - 1);
+    }
+
+    /**
+     * Returns an element from a specified index, in constant time.
+     *
+     * @param index A list index.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public T get(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return elementAt(start + index);
+    }
+
+    /**
+     * Removes the first element from the list.
+     *
+     * @return The removed element.
+     * @throws NoSuchElementException if the list is empty.
+     */
+    public T removeFirst() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        T element = elementAt(start);
+        blocks[firstBlock][start] = null;
+        start++;
+        size--;
+        if(isEmpty()) {
+            clear();
+        } else if(start > blockMask) {
+            // The first block is used up, drop it.
+            blocks[firstBlock] = null;
+            firstBlock = (firstBlock + 1) & (blocks.length - 1);
+            blockCount--;
+            start = 0;
+        }
+        return element;
+    }
+
+    /**
+     * Removes all of the elements from the list.
+     */
+    public void clear() {
+        blocks = new Object[1][];
+        firstBlock = 0;
+        blockCount = 0;
+        start = 0;
+        size = 0;
+    }
+
+    /**
+     * @return The number of elements in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if this list contains no elements.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates a string representation of this list, in the same format as
+     * LinkedList: the elements enclosed in square brackets ("[]") and
+     * separated by ", " (comma and space).
+     *
+     * @return A string representing the list.
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i = 0; i < size; i++) {
+            if(i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elementAt(start + i));
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * @param position A position counted from the start of the first block.
+     * @return The block holding the position.
+     */
+    private Object[] block(int position) {
+        return blocks[(firstBlock + (position >>> blockShift)) & (blocks.length - 1)];
+    }
+
+    @SuppressWarnings("unchecked") // only elements of type T are stored
+    private T elementAt(int position) {
+        return (T) block(position)[position & blockMask];
+    }
+
+    /**
+     * Doubles the directory if every slot holds a block, moving the blocks
+     * to the front of the new directory in order.
+     */
+    private void ensureDirectoryCapacity() {
+        if(blockCount < blocks.length) {
+            return;
+        }
+        Object[][] newBlocks = new Object[blocks.length * 2][];
+        for(int i = 0; i < blockCount; i++) {
+            newBlocks[i] = blocks[(firstBlock + i) & (blocks.length - 1)];
+        }
+        blocks = newBlocks;
+        firstBlock = 0;
+    }
+}
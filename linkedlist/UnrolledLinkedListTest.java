@@ -0,0 +1,241 @@
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Test class for UnrolledLinkedList
+ *
+ * A small block size is used, so that the elements span many blocks and
+ * every operation is tested at block boundaries.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-13
+ */
+public class UnrolledLinkedListTest {
+    private static final int BLOCK_SIZE = 4;
+
+    /* A sequence of integers */
+    private int[] elements;
+
+    /* An empty list */
+    private UnrolledLinkedList<Integer> list;
+
+    @Before
+    public void setUp() {
+        list = new UnrolledLinkedList<Integer>(BLOCK_SIZE);
+        elements = new int[]{-919,  388,   67, -248, -309, -725,  904,   53,
+                               90, -469, -559,  256,  612,  366, -412, -221,
+                              347, -921, -978,  324, -858,  480, -443,  891,
+                              329,   -5,  878, -538,  445, -366,  760,   52};
+    }
+
+    /**
+     * Assert that a block size that is not a power of two is rejected.
+     */
+    @Test (expected=IllegalArgumentException.class)
+    public void constructorThrowsExceptionWhenBlockSizeIsNotPowerOfTwo() {
+        new UnrolledLinkedList<Integer>(6);
+    }
+
+    /**
+     * Assert that the size of an empty list is exactly 0.
+     */
+    @Test
+    public void sizeIsZeroWhenListIsEmpty() {
+        assertThat(list.size(), equalTo(0));
+        assertTrue(list.isEmpty());
+        assertThat(list.toString(), equalTo("[]"));
+    }
+
+    /**
+     * Assert that getting any element of a list
+     * returns the correct element after an element
+     * is added to the end of the list.
+     */
+    @Test
+    public void getIsCorrectAfterAddLast() {
+        for (int i = 0; i < elements.length; i++) {
+            // Arrange
+            list.addLast(elements[i]);
+            // Act, Assert
+            assertThat(list.size(), equalTo(i + 1));
+            assertThat(list.getFirst(), equalTo(elements[0]));
+            assertThat(list.getLast(), equalTo(elements[i]));
+            for (int j = 0; j < i + 1; j++) {
+                assertThat(list.get(j), equalTo(elements[j]));
+            }
+        }
+    }
+
+    /**
+     * Assert that getting any element of a list
+     * returns the correct element after an element
+     * is added to the beginning of the list.
+     */
+    @Test
+    public void getIsCorrectAfterAddFirst() {
+        for (int i = 0; i < elements.length; i++) {
+            // Arrange
+            list.addFirst(elements[i]);
+            // Act, Assert
+            assertThat(list.size(), equalTo(i + 1));
+            assertThat(list.getFirst(), equalTo(elements[i]));
+            assertThat(list.getLast(), equalTo(elements[0]));
+            for (int j = 0; j < i + 1; j++) {
+                assertThat(list.get(j), equalTo(elements[i-j]));
+            }
+        }
+    }
+
+    /**
+     * Assert that removing the first element returns
+     * the elements in order and decrements the size by 1.
+     */
+    @Test
+    public void removeFirstReturnsElementsInOrder() {
+        // Arrange
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        for (int i = 0; i < elements.length; i++) {
+            // Act, Assert
+            assertThat(list.removeFirst(), equalTo(elements[i]));
+            assertThat(list.size(), equalTo(elements.length - i - 1));
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Assert that removing the first element of an empty
+     * list throws an exception.
+     */
+    @Test (expected=NoSuchElementException.class)
+    public void removeFirstThrowsExceptionWhenListIsEmpty() {
+        list.removeFirst();
+    }
+
+    /**
+     * Assert that getting the first element of an empty
+     * list throws an exception.
+     */
+    @Test (expected=NoSuchElementException.class)
+    public void getFirstThrowsExceptionWhenListIsEmpty() {
+        list.getFirst();
+    }
+
+    /**
+     * Assert that getting the last element of an empty
+     * list throws an exception.
+     */
+    @Test (expected=NoSuchElementException.class)
+    public void getLastThrowsExceptionWhenListIsEmpty() {
+        list.getLast();
+    }
+
+    /**
+     * Assert that getting the non existent element
+     * with index equal to the length of the list
+     * throws an exception.
+     */
+    @Test (expected=IndexOutOfBoundsException.class)
+    public void getThrowsExceptionWhenIndexIsLength() {
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        list.get(elements.length);
+    }
+
+    /**
+     * Assert that getting the non existent element
+     * with index -1 throws an exception.
+     */
+    @Test (expected=IndexOutOfBoundsException.class)
+    public void getThrowsExceptionWhenIndexIsMinusOne() {
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        list.get(-1);
+    }
+
+    /**
+     * Assert that clearing a non empty list empties it,
+     * and that it can be used again.
+     */
+    @Test
+    public void clearSetsSizeToZero() {
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        list.clear();
+        assertThat(list.size(), equalTo(0));
+        assertTrue(list.isEmpty());
+        list.addFirst(elements[0]);
+        assertThat(list.get(0), equalTo(elements[0]));
+    }
+
+    /**
+     * Assert that toString is equal to the array
+     * representation of the elements.
+     */
+    @Test
+    public void toStringIsSameAsArrayToString() {
+        for (int element : elements) {
+            list.addLast(element);
+        }
+        assertThat(list.toString(), equalTo(Arrays.toString(elements)));
+    }
+
+    /**
+     * Assert that a random mix of operations gives the
+     * same elements as a reference deque.
+     */
+    @Test
+    public void randomOperationsAgreeWithReferenceDeque() {
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0) {
+                list.addFirst(i);
+                expected.addFirst(i);
+            } else if (op == 1) {
+                list.addLast(i);
+                expected.addLast(i);
+            } else if (!expected.isEmpty()) {
+                assertThat(list.removeFirst(), equalTo(expected.removeFirst()));
+            }
+            assertThat(list.size(), equalTo(expected.size()));
+        }
+        assertThat(list.toString(), equalTo(expected.toString()));
+        int index = 0;
+        for (int element : expected) {
+            assertThat(list.get(index++), equalTo(element));
+        }
+    }
+
+    /**
+     * Assert that indexed access over a long list is fast,
+     * which it would not be if get walked the list.
+     */
+    @Test(timeout=2000)
+    public void getOverLongListIsFast() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        int numElements = 1000000;
+        for (int i = 0; i < numElements; i++) {
+            list.addLast(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < numElements; i++) {
+            sum += list.get(i);
+        }
+        assertThat(sum, equalTo((long) numElements * (numElements - 1) / 2));
+    }
+}
@@ -0,0 +1,204 @@
+import java.util.EmptyStackException;
+/**
+ * En stack som lagrar elementen i en cirkulär array (ring buffer) i stället
+ * för i en länkad lista, så push och pop allokerar inga nya objekt.
+ *
+ * Arrayen dubblas när den blir full, så push tar amorterat O(1) tid. Med en
+ * maxkapacitet växer arrayen aldrig förbi den, och en full stack tar inte
+ * emot fler element: push kastar då IllegalStateException och offer
+ * returnerar false. Den som hellre vill behålla de senaste elementen
+ * använder pushOrEvict, som i stället tar bort det understa (äldsta)
+ * elementet och returnerar det.
+ *
+ * @author Erik Vanhainen
+ * @version 14-02-2019
+ */
+public class ArrayStack<T> implements Stack<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private Object[] elements;
+    private int bottom;             // Index of the bottom element.
+    private int size;               // Number of elements in stack.
+    private final int maxCapacity;
+
+    /**
+     * Skapar en tom stack utan maxkapacitet.
+     **/
+    public ArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Skapar en tom stack utan maxkapacitet.
+     * @param capacity, antal element som får plats innan arrayen växer.
+     * @throws IllegalArgumentException om capacity inte är positiv.
+     **/
+    public ArrayStack(int capacity) {
+        this(capacity, MAX_ARRAY_SIZE);
+    }
+
+    /**
+     * Skapar en tom stack som håller högst maxCapacity element.
+     * @param capacity, antal element som får plats innan arrayen växer.
+     * @param maxCapacity, största antal element i stacken.
+     * @throws IllegalArgumentException om capacity inte är positiv eller
+     * större än maxCapacity.
+     **/
+    public ArrayStack(int capacity, int maxCapacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be a positive, non-zero value! Provided: " + capacity);
+        }
+        if(maxCapacity < capacity || maxCapacity > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException(
+                "maxCapacity must be between capacity and " + MAX_ARRAY_SIZE
+                + "! Provided: " + maxCapacity);
+        }
+        elements = new Object[capacity];
+        bottom = 0;
+        size = 0;
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Lägger till ett element till stacken.
+     * @param elem, element av typ T som läggs till.
+     * @throws IllegalStateException om stacken har nått sin maxkapacitet.
+     **/
+    public void push(T elem) {
+        if(!offer(elem)) {
+            throw new IllegalStateException(
+                "stack is full! Max capacity: " + maxCapacity);
+        }
+    }
+
+    /**
+     * Lägger till ett element till stacken, om den inte har nått sin
+     * maxkapacitet.
+     * @param elem, element av typ T som läggs till.
+     * @return true om elementet lades till, false om stacken var full.
+     **/
+    public boolean offer(T elem) {
+        if(size == maxCapacity) {
+            return false;
+        }
+        if(size == elements.length) {
+            resize((int) Math.min(Math.max(2L * elements.length, 1), maxCapacity));
+        }
+        elements[wrap(bottom + size)] = elem;
+        size++;
+        return true;
+    }
+
+    /**
+     * Lägger till ett element till stacken. Om stacken har nått sin
+     * maxkapacitet tas det understa elementet bort för att ge plats åt det.
+     * @param elem, element av typ T som läggs till.
+     * @return elementet som togs bort, eller null om stacken inte var full.
+     **/
+    public T pushOrEvict(T elem) {
+        if(size < maxCapacity) {
+            offer(elem);
+            return null;
+        }
+        // Arrayen är exakt maxCapacity lång, så toppen hamnar på botten.
+        T evicted = elementAt(bottom);
+        elements[bottom] = elem;
+        bottom = wrap(bottom + 1);
+        return evicted;
+    }
+
+    /**
+     * Tar bort och returnerar det översta elementet i stacken.
+     * @return element av typ T som tas bort.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public T pop() {
+        if(isEmpty()) {
+            throw new EmptyStackException();
+        }
+        int index = wrap(bottom + size - 1);
+        T elem = elementAt(index);
+        elements[index] = null;
+        size--;
+        return elem;
+    }
+
+    /**
+     * Returnerar det översta elementet i stacken.
+     * @return element av typ T som returneras.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public T top() {
+        if(isEmpty()) {
+            throw new EmptyStackException();
+        }
+        return elementAt(wrap(bottom + size - 1));
+    }
+
+    /**
+     * Returnerar antal element i stacken.
+     * @return antal element.
+     **/
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returnerar om stacken är tom eller inte.
+     * @return true om staken är tom.
+     **/
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Krymper arrayen så att den är exakt lika stor som stacken.
+     **/
+    public void trimToSize() {
+        if(size < elements.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     * Returnerar en sträng med elementen från toppen till botten, på samma
+     * form som LinkedList, t.ex. "[3, 2, 1]".
+     * @return en sträng som representerar stacken.
+     **/
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i = size - 1; i >= 0; i--) {
+            sb.append(elements[wrap(bottom + i)]);
+            if(i > 0) {
+                sb.append(", ");
+            }
+        }
+        return sb.append("]").toString();
+    }
+
+    /**
+     * Flyttar elementen till en ny array av given längd, med botten först.
+     **/
+    private void resize(int length) {
+        Object[] newElements = new Object[length];
+        int firstPart = Math.min(size, elements.length - bottom);
+        System.arraycopy(elements, bottom, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        elements = newElements;
+        bottom = 0;
+    }
+
+    /**
+     * Returnerar index i arrayen för ett index som kan ha gått ett varv.
+     **/
+    private int wrap(int index) {
+        return index >= elements.length ? index - elements.length : index;
+    }
+
+    @SuppressWarnings("unchecked") // bara element av typ T lagras
+    private T elementAt(int index) {
+        return (T) elements[index];
+    }
+}
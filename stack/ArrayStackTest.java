@@ -0,0 +1,133 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.Arrays;
+
+/**
+ * Test class for ArrayStack. Runs the StackTest tests, as well as tests of
+ * growth and capacity.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-14
+ */
+public class ArrayStackTest extends StackTest {
+    @Override
+    protected Stack<Integer> getIntegerStack() {
+        return new ArrayStack<Integer>();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorExceptionWhenCapacityIsZero() {
+        new ArrayStack<Integer>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorExceptionWhenMaxCapacityIsLessThanCapacity() {
+        new ArrayStack<Integer>(4, 3);
+    }
+
+    @Test
+    public void elementsAreKeptWhenStackGrowsPastCapacity() {
+        // Arrange
+        ArrayStack<Integer> stack = new ArrayStack<>(1);
+        int numElements = 1000;
+
+        // Act
+        for (int i = 0; i < numElements; i++) {
+            stack.push(i);
+        }
+
+        // Assert
+        assertThat(stack.size(), equalTo(numElements));
+        for (int i = numElements - 1; i >= 0; i--) {
+            assertThat(stack.pop(), equalTo(i));
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void pushAtMaxCapacityThrowsAndKeepsElements() {
+        // Arrange
+        ArrayStack<Integer> stack = new ArrayStack<>(1, 3);
+        for (int i = 1; i <= 3; i++) {
+            stack.push(i);
+        }
+
+        // Act
+        try {
+            stack.push(4);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        // Assert
+        assertThat(stack.size(), equalTo(3));
+        assertThat(stack.toString(), equalTo("[3, 2, 1]"));
+        assertThat(stack.pop(), equalTo(3));
+        stack.push(5);
+        assertThat(stack.toString(), equalTo("[5, 2, 1]"));
+    }
+
+    @Test
+    public void offerIsFalseOnlyAtMaxCapacity() {
+        ArrayStack<Integer> stack = new ArrayStack<>(1, 2);
+        assertTrue(stack.offer(1));
+        assertTrue(stack.offer(2));
+        assertFalse(stack.offer(3));
+        assertThat(stack.size(), equalTo(2));
+        assertThat(stack.top(), equalTo(2));
+    }
+
+    @Test
+    public void pushOrEvictAtMaxCapacityEvictsBottomElement() {
+        // Arrange
+        ArrayStack<Integer> stack = new ArrayStack<>(1, 3);
+        Integer[] evicted = new Integer[5];
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            evicted[i - 1] = stack.pushOrEvict(i);
+        }
+
+        // Assert
+        assertThat(Arrays.asList(evicted), equalTo(Arrays.asList(null, null, null, 1, 2)));
+        assertThat(stack.size(), equalTo(3));
+        assertThat(stack.toString(), equalTo("[5, 4, 3]"));
+        assertThat(stack.pop(), equalTo(5));
+        assertThat(stack.pushOrEvict(6), is(nullValue()));
+        assertThat(stack.toString(), equalTo("[6, 4, 3]"));
+    }
+
+    @Test
+    public void trimToSizeKeepsElementsInOrder() {
+        // Arrange
+        // Wrap around the end of the array before trimming
+        ArrayStack<Integer> stack = new ArrayStack<>(4, 4);
+        for (int i = 1; i <= 6; i++) {
+            stack.pushOrEvict(i);
+        }
+        stack.pop();
+
+        // Act
+        stack.trimToSize();
+
+        // Assert
+        assertThat(stack.toString(), equalTo("[5, 4, 3]"));
+        stack.push(7);
+        assertFalse(stack.offer(8));
+        assertThat(stack.toString(), equalTo("[7, 5, 4, 3]"));
+    }
+
+    @Test
+    public void trimToSizeOfEmptyStackCanBePushedTo() {
+        ArrayStack<Integer> stack = new ArrayStack<>();
+        stack.trimToSize();
+        stack.push(1);
+        assertThat(stack.top(), equalTo(1));
+        assertThat(stack.toString(), equalTo("[1]"));
+    }
+}
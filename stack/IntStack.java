@@ -0,0 +1,125 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+/**
+ * En stack av primitiva int, lagrade i en int-array, så push och pop varken
+ * boxar värdena till Integer eller allokerar nya objekt. Arrayen dubblas när
+ * den blir full, så push tar amorterat O(1) tid.
+ *
+ * Stacken implementerar även Stack<Integer>, men de metoderna boxar värdena;
+ * push(int), popInt() och topInt() gör det inte.
+ *
+ * @author Erik Vanhainen
+ * @version 15-02-2019
+ */
+public class IntStack implements Stack<Integer> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int size;               // Number of elements in stack.
+
+    /**
+     * Skapar en tom stack.
+     **/
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Skapar en tom stack.
+     * @param capacity, antal element som får plats innan arrayen växer.
+     * @throws IllegalArgumentException om capacity inte är positiv.
+     **/
+    public IntStack(int capacity) {
+        if(capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be a positive, non-zero value! Provided: " + capacity);
+        }
+        elements = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Lägger till ett värde till stacken.
+     * @param value, värdet som läggs till.
+     **/
+    public void push(int value) {
+        if(size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(2 * elements.length, 1));
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Tar bort och returnerar det översta värdet i stacken.
+     * @return värdet som tas bort.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public int popInt() {
+        if(size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Returnerar det översta värdet i stacken.
+     * @return värdet som returneras.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public int topInt() {
+        if(size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Returnerar en kopia av värdena i stacken, från botten till toppen.
+     * @return en array med värdena.
+     **/
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Lägger till ett element till stacken.
+     * @param elem, element som läggs till.
+     **/
+    public void push(Integer elem) {
+        push(elem.intValue());
+    }
+
+    /**
+     * Tar bort och returnerar det översta elementet i stacken.
+     * @return element som tas bort.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public Integer pop() {
+        return popInt();
+    }
+
+    /**
+     * Returnerar det översta elementet i stacken.
+     * @return element som returneras.
+     * @throws EmptyStackException om stacken är tom.
+     **/
+    public Integer top() {
+        return topInt();
+    }
+
+    /**
+     * Returnerar antal element i stacken.
+     * @return antal element.
+     **/
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returnerar om stacken är tom eller inte.
+     * @return true om staken är tom.
+     **/
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,65 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.util.EmptyStackException;
+
+/**
+ * Test class for IntStack. Runs the StackTest tests through the boxed
+ * Stack<Integer> methods, as well as tests of the primitive methods.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-15
+ */
+public class IntStackTest extends StackTest {
+    @Override
+    protected Stack<Integer> getIntegerStack() {
+        return new IntStack();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorExceptionWhenCapacityIsZero() {
+        new IntStack(0);
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void popIntExceptionWhenStackIsEmpty() {
+        new IntStack().popInt();
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void topIntExceptionWhenStackIsEmpty() {
+        new IntStack().topInt();
+    }
+
+    @Test
+    public void popIntReturnsPushedValuesInReverseOrderWhenStackGrows() {
+        // Arrange
+        IntStack stack = new IntStack(1);
+        int numValues = 1000;
+
+        // Act
+        for (int i = 0; i < numValues; i++) {
+            stack.push(i);
+            assertThat(stack.topInt(), equalTo(i));
+        }
+
+        // Assert
+        assertThat(stack.size(), equalTo(numValues));
+        for (int i = numValues - 1; i >= 0; i--) {
+            assertThat(stack.popInt(), equalTo(i));
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void boxedAndPrimitiveMethodsShareValues() {
+        IntStack stack = new IntStack();
+        stack.push(Integer.valueOf(1));
+        stack.push(2);
+        assertThat(stack.pop(), equalTo(2));
+        assertThat(stack.popInt(), equalTo(1));
+    }
+}
@@ -1,3 +1,4 @@
+import java.io.IOException;
 import java.util.NoSuchElementException;
 import java.util.EmptyStackException;
 /**
@@ -201,16 +202,47 @@ public class LinkedList<T> implements Stack<T> {
      * @return A string representing the list.
      */
     public String toString() {
-        if(isEmpty()) {
-            return "[]";
+        StringBuilder sb = new StringBuilder();
+        try {
+            appendTo(sb, Integer.MAX_VALUE);
+        } catch(IOException e) {
+            throw new AssertionError(e);    // StringBuilder never throws.
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the string representation of this list to out, one element
+     * at a time, in the same format as toString(). If the list has more
+     * than maxElements elements, only the first maxElements are written,
+     * followed by "...", so the output stays bounded for long lists.
+     *
+     * Example, with maxElements 2:
+     *  "[1, 4, ...]"
+     *
+     * @param out Where to write the representation.
+     * @param maxElements The largest number of elements to write.
+     * @throws IOException if out throws it.
+     * @throws IllegalArgumentException if maxElements is negative.
+     */
+    public void appendTo(Appendable out, int maxElements) throws IOException {
+        if(maxElements < 0) {
+            throw new IllegalArgumentException(
+                "maxElements must be non-negative! Provided: " + maxElements);
         }
-        String str = "[";
+        out.append('[');
         ListElement<T> temp = first;
-        for(int i = 0; i < size-1; i++) {
-            str = str.concat(temp.data + ", ");
+        for(int i = 0; temp != null; i++) {
+            if(i > 0) {
+                out.append(", ");
+            }
+            if(i == maxElements) {
+                out.append("...");
+                break;
+            }
+            out.append(String.valueOf(temp.data));
             temp = temp.next;
         }
-        str = str.concat(last.data + "]");
-        return str;
+        out.append(']');
     }
 }
@@ -0,0 +1,85 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+
+import java.io.IOException;
+
+/**
+ * Test class for LinkedList as a Stack. Runs the StackTest tests, as well as
+ * tests of the string representation.
+ *
+ * @author Erik Vanhainen
+ * @version 2019-02-16
+ */
+public class LinkedListTest extends StackTest {
+    @Override
+    protected Stack<Integer> getIntegerStack() {
+        return new LinkedList<Integer>();
+    }
+
+    @Test
+    public void toStringIsTopToBottom() {
+        LinkedList<Integer> list = pushed(1, 2, 3);
+        assertThat(list.toString(), equalTo("[3, 2, 1]"));
+    }
+
+    @Test
+    public void toStringIsBracketsWhenListIsEmpty() {
+        assertThat(new LinkedList<Integer>().toString(), equalTo("[]"));
+    }
+
+    @Test
+    public void appendToIsSameAsToStringWhenNotTruncated() throws IOException {
+        // Arrange
+        LinkedList<Integer> list = pushed(1, 2, 3);
+        StringBuilder sb = new StringBuilder("stack: ");
+
+        // Act
+        list.appendTo(sb, 3);
+
+        // Assert
+        assertThat(sb.toString(), equalTo("stack: [3, 2, 1]"));
+    }
+
+    @Test
+    public void appendToTruncatesAfterMaxElements() throws IOException {
+        // Arrange
+        LinkedList<Integer> list = pushed(1, 2, 3);
+        StringBuilder sb = new StringBuilder();
+        StringBuilder none = new StringBuilder();
+
+        // Act
+        list.appendTo(sb, 2);
+        list.appendTo(none, 0);
+
+        // Assert
+        assertThat(sb.toString(), equalTo("[3, 2, ...]"));
+        assertThat(none.toString(), equalTo("[...]"));
+    }
+
+    @Test
+    public void appendToIsBracketsWhenListIsEmpty() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        new LinkedList<Integer>().appendTo(sb, 0);
+        assertThat(sb.toString(), equalTo("[]"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void appendToExceptionWhenMaxElementsIsNegative() throws IOException {
+        new LinkedList<Integer>().appendTo(new StringBuilder(), -1);
+    }
+
+    /**
+     * Returns a list with the values pushed in order, so the last one is on
+     * top.
+     */
+    private static LinkedList<Integer> pushed(int... values) {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int value : values) {
+            list.push(value);
+        }
+        return list;
+    }
+}
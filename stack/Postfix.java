@@ -1,5 +1,12 @@
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 /**
  * The Postfix class implements an evaluator for integer postfix expressions.
  *
@@ -10,10 +17,17 @@ import java.util.regex.Pattern;
  * operands and the four operators +, -, *, and /. Operators and operands must
  * be separated by whitespace.
  *
+ * An expression that is evaluated many times can be compiled once with
+ * compile, which also allows variables whose values are given to each
+ * evaluation. Expressions too large to hold in memory can be evaluated as
+ * they are read from a Reader or a ReadableByteChannel.
+ *
  * @author  Erik Vanhainen
  * @version 2019-01-28
  */
 public class Postfix extends LinkedList<Integer> {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     public static class ExpressionException extends Exception {
         public ExpressionException(String message) {
             super(message);
@@ -23,88 +37,581 @@ public class Postfix extends LinkedList<Integer> {
     /**
      * Evaluates the given postfix expression.
      *
+     * The expression is scanned once, character by character: operands are
+     * parsed in place as they are read and operators are applied as soon as
+     * they are found, so no tokens or regular expressions are created.
+     *
      * @param expr  Arithmetic expression in postfix notation
      * @return      The value of the evaluated expression
      * @throws      ExpressionException if the expression is wrong
      */
-    public static int evaluate(String expr) throws ExpressionException {
-        if(expr.length() == 0) {
-            throw new ExpressionException("Empty string");
+    public static int evaluate(CharSequence expr) throws ExpressionException {
+        int start = trimmedStart(expr);
+        int end = trimmedEnd(expr, start);
+        IntStack stack = new IntStack();
+        int i = start;
+        while(i < end) {
+            if(isWhitespace(expr.charAt(i))) {
+                i++;
+                continue;
+            }
+            int tokenEnd = tokenEnd(expr, i, end);
+            if(tokenEnd - i == 1 && isOperator(expr.charAt(i))) {
+                apply(expr.charAt(i), stack);
+            } else {
+                stack.push(parseInteger(expr, i, tokenEnd));
+            }
+            i = tokenEnd;
+        }
+        if(stack.size() > 1) {
+            throw new ExpressionException("To many operands");
+        }
+        return stack.topInt();
+    }
+
+    /**
+     * Evaluates the postfix expression read from in, with the same result
+     * and errors as evaluate(CharSequence).
+     *
+     * The input is read in chunks into one buffer and scanned character by
+     * character as it arrives, so memory use depends on the depth of the
+     * operand stack and not on the length of the input. The reader is not
+     * closed.
+     *
+     * @param in    Arithmetic expression in postfix notation
+     * @return      The value of the evaluated expression
+     * @throws      ExpressionException if the expression is wrong
+     * @throws      IOException if reading fails
+     */
+    public static int evaluate(Reader in) throws IOException, ExpressionException {
+        StreamEvaluator evaluator = new StreamEvaluator();
+        char[] buffer = new char[STREAM_BUFFER_SIZE];
+        int n;
+        while((n = in.read(buffer)) != -1) {
+            for(int i = 0; i < n; i++) {
+                evaluator.accept(buffer[i]);
+            }
         }
-        Stack<Integer> stack = new LinkedList<Integer>();
-        expr = expr.trim();
-        String[] arr = expr.split("\\s+");
-        for(String s : arr) {
-            if(isInteger(s)) {
-                if(s.matches("-?0\\d+")) {
-                    throw new ExpressionException("Leading 0");
+        return evaluator.finish();
+    }
+
+    /**
+     * Evaluates the postfix expression read from in, in the same way as
+     * evaluate(Reader).
+     *
+     * The bytes are taken to be ASCII, which gives the same result for
+     * UTF-8: every byte of a non-ASCII character is above ' ' and not a
+     * digit or an operator, so it is an invalid symbol either way. The
+     * channel is not closed.
+     *
+     * @param in    Arithmetic expression in postfix notation
+     * @return      The value of the evaluated expression
+     * @throws      ExpressionException if the expression is wrong
+     * @throws      IOException if reading fails
+     */
+    public static int evaluate(ReadableByteChannel in) throws IOException, ExpressionException {
+        StreamEvaluator evaluator = new StreamEvaluator();
+        ByteBuffer buffer = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        while(in.read(buffer) != -1) {
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+                evaluator.accept((char) (buffer.get() & 0xff));
+            }
+            buffer.clear();
+        }
+        return evaluator.finish();
+    }
+
+    /**
+     * Evaluates an expression given one character at a time, keeping only
+     * the operand stack and the token being read.
+     *
+     * To give the same errors as evaluate(CharSequence), the characters
+     * that String.trim removes are handled like it: at the start of the
+     * input they are skipped, and a control character that is not
+     * whitespace makes the expression invalid only if something other than
+     * such characters follows it. The token it ends is therefore not
+     * evaluated until that is known.
+     */
+    private static final class StreamEvaluator {
+        private static final int BETWEEN = 0;   // Not in a token.
+        private static final int MINUS = 1;     // Read "-", an operator or a sign.
+        private static final int OPERATOR = 2;  // Read one of "+", "*", "/".
+        private static final int NUMBER = 3;    // Read digits, after any sign.
+
+        private final IntStack stack = new IntStack();
+        private boolean anyInput = false;
+        private boolean anyToken = false;
+        private boolean trailing = false;   // Only trimmable characters allowed.
+        private int state = BETWEEN;
+        private char operator;
+        private boolean negative;
+        private int digits;
+        private boolean leadingZero;
+        private boolean overflow;
+        private int value;                  // Negated, as in parseInteger.
+
+        void accept(char c) throws ExpressionException {
+            anyInput = true;
+            if(c <= ' ') {
+                if(!isWhitespace(c) && anyToken) {
+                    trailing = true;
+                } else if(!trailing) {
+                    endToken();
                 }
-                int value = Integer.parseInt(s);
-                stack.push(value);
+                return;
+            }
+            if(trailing) {
+                throw new ExpressionException("Invalid symbol");
+            }
+            anyToken = true;
+            switch(state) {
+                case BETWEEN: {
+                    if(c == '-') {
+                        state = MINUS;
+                    } else if(isOperator(c)) {
+                        state = OPERATOR;
+                        operator = c;
+                    } else {
+                        startNumber(false);
+                        addDigit(c);
+                    }
+                    break;
+                }
+                case MINUS: {
+                    startNumber(true);
+                    addDigit(c);
+                    break;
+                }
+                case NUMBER: {
+                    addDigit(c);
+                    break;
+                }
+                default: {
+                    throw new ExpressionException("Invalid symbol");
+                }
+            }
+        }
+
+        int finish() throws ExpressionException {
+            if(!anyInput) {
+                throw new ExpressionException("Empty string");
+            }
+            if(!anyToken) {
+                throw new ExpressionException("Invalid symbol");
+            }
+            endToken();
+            if(stack.size() > 1) {
+                throw new ExpressionException("To many operands");
             }
-            else if(isOperator(s)) {
-                if(stack.size() < 2) {
+            return stack.topInt();
+        }
+
+        private void startNumber(boolean negative) {
+            state = NUMBER;
+            this.negative = negative;
+            digits = 0;
+            leadingZero = false;
+            overflow = false;
+            value = 0;
+        }
+
+        private void addDigit(char c) throws ExpressionException {
+            int digit = c - '0';
+            if(digit < 0 || digit > 9) {
+                throw new ExpressionException("Invalid symbol");
+            }
+            if(digits == 0) {
+                leadingZero = digit == 0;
+            }
+            digits++;
+            int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+            if(value < limit / 10 || value * 10 < limit + digit) {
+                overflow = true;
+            } else {
+                value = value * 10 - digit;
+            }
+        }
+
+        private void endToken() throws ExpressionException {
+            switch(state) {
+                case MINUS: {
+                    apply('-', stack);
+                    break;
+                }
+                case OPERATOR: {
+                    apply(operator, stack);
+                    break;
+                }
+                case NUMBER: {
+                    if(leadingZero && digits > 1) {
+                        throw new ExpressionException("Leading 0");
+                    }
+                    if(overflow) {
+                        throw new ExpressionException("Integer overflow");
+                    }
+                    stack.push(negative ? value : -value);
+                    break;
+                }
+            }
+            state = BETWEEN;
+        }
+    }
+
+    /**
+     * Compiles the given postfix expression, for evaluating it many times.
+     *
+     * Besides integers and operators, the expression may contain variables:
+     * identifiers of ASCII letters, digits and '_' that do not start with a
+     * digit. Their values are given to CompiledExpression.evaluate in the
+     * order in which the variables first appear, so "x y x *" has the two
+     * variables x and y.
+     *
+     * All errors except division by zero are found here; division by zero
+     * depends on the values and is reported by evaluate.
+     *
+     * @param expr  Arithmetic expression in postfix notation
+     * @return      The compiled expression
+     * @throws      ExpressionException if the expression is wrong
+     */
+    public static CompiledExpression compile(CharSequence expr) throws ExpressionException {
+        int start = trimmedStart(expr);
+        int end = trimmedEnd(expr, start);
+        IntStack code = new IntStack();
+        List<String> variables = new ArrayList<>();
+        int depth = 0;
+        int maxDepth = 0;
+        int i = start;
+        while(i < end) {
+            if(isWhitespace(expr.charAt(i))) {
+                i++;
+                continue;
+            }
+            int tokenEnd = tokenEnd(expr, i, end);
+            char first = expr.charAt(i);
+            if(tokenEnd - i == 1 && isOperator(first)) {
+                if(depth < 2) {
                     throw new ExpressionException("To few operands");
                 }
-                int a = stack.pop();
-                int b = stack.pop();
-                switch(s) {
-                    case "+": {
-                        stack.push(b+a);
+                code.push(CompiledExpression.opcode(first));
+                depth--;
+            } else {
+                if(isIdentifierStart(first)) {
+                    String name = parseIdentifier(expr, i, tokenEnd);
+                    int index = variables.indexOf(name);
+                    if(index < 0) {
+                        index = variables.size();
+                        variables.add(name);
+                    }
+                    code.push(CompiledExpression.LOAD);
+                    code.push(index);
+                } else {
+                    code.push(CompiledExpression.PUSH);
+                    code.push(parseInteger(expr, i, tokenEnd));
+                }
+                depth++;
+                maxDepth = Math.max(maxDepth, depth);
+            }
+            i = tokenEnd;
+        }
+        if(depth > 1) {
+            throw new ExpressionException("To many operands");
+        }
+        return new CompiledExpression(code.toArray(), maxDepth,
+            variables.toArray(new String[0]));
+    }
+
+    /**
+     * A postfix expression that can be evaluated with different values of
+     * its variables.
+     */
+    public interface IntFormula {
+        /**
+         * Evaluates the expression.
+         *
+         * @param values    The values of the variables, in order of first
+         *                  appearance in the expression
+         * @return          The value of the evaluated expression
+         * @throws          ExpressionException on division by zero
+         * @throws          IllegalArgumentException if the number of values
+         *                  is not the number of variables
+         */
+        int evaluate(int... values) throws ExpressionException;
+    }
+
+    /**
+     * A compiled postfix expression, which can be evaluated many times with
+     * different values of its variables without parsing it again.
+     *
+     * The expression is a flat array of opcodes, where PUSH and LOAD are
+     * followed by their operand (a constant or a variable index), and the
+     * operand stack is sized by the maximum depth found at compile time.
+     * Instances are immutable, so they can be shared between threads.
+     *
+     * toMethodHandles turns the expression into a tree of method handles
+     * instead, which the JIT compiler can inline like ordinary code.
+     */
+    public static final class CompiledExpression implements IntFormula {
+        static final int PUSH = 0;  // Followed by a constant.
+        static final int LOAD = 1;  // Followed by a variable index.
+        static final int ADD = 2;
+        static final int SUB = 3;
+        static final int MUL = 4;
+        static final int DIV = 5;
+
+        // Larger expressions are interpreted: the method handle tree is as
+        // deep as the expression, and so is the call stack evaluating it.
+        private static final int MAX_METHOD_HANDLE_OPERATIONS = 256;
+
+        private static final MethodType FORMULA_TYPE =
+            MethodType.methodType(int.class, int[].class);
+        // The methods of the operators, indexed by opcode - ADD.
+        private static final String[] OPERATOR_METHODS = {"add", "sub", "mul", "div"};
+
+        private final int[] code;
+        private final int maxStackDepth;
+        private final String[] variables;
+
+        private CompiledExpression(int[] code, int maxStackDepth, String[] variables) {
+            this.code = code;
+            this.maxStackDepth = maxStackDepth;
+            this.variables = variables;
+        }
+
+        /**
+         * Evaluates the expression.
+         *
+         * @param values    The values of the variables, in order of first
+         *                  appearance in the expression
+         * @return          The value of the evaluated expression
+         * @throws          ExpressionException on division by zero
+         * @throws          IllegalArgumentException if the number of values
+         *                  is not the number of variables
+         */
+        public int evaluate(int... values) throws ExpressionException {
+            if(values.length != variables.length) {
+                throw new IllegalArgumentException("expected " + variables.length
+                    + " values! Provided: " + values.length);
+            }
+            int[] stack = new int[maxStackDepth];
+            int sp = 0;
+            for(int pc = 0; pc < code.length; pc++) {
+                switch(code[pc]) {
+                    case PUSH: {
+                        stack[sp++] = code[++pc];
                         break;
                     }
-                    case "-": {
-                        stack.push(b-a);
+                    case LOAD: {
+                        stack[sp++] = values[code[++pc]];
                         break;
                     }
-                    case "*": {
-                        stack.push(b*a);
+                    case ADD: {
+                        sp--;
+                        stack[sp-1] += stack[sp];
                         break;
                     }
-                    case "/": {
-                        if(a == 0) {
+                    case SUB: {
+                        sp--;
+                        stack[sp-1] -= stack[sp];
+                        break;
+                    }
+                    case MUL: {
+                        sp--;
+                        stack[sp-1] *= stack[sp];
+                        break;
+                    }
+                    case DIV: {
+                        sp--;
+                        if(stack[sp] == 0) {
                             throw new ExpressionException("Undifined");
                         }
-                        stack.push(b/a);
+                        stack[sp-1] /= stack[sp];
                         break;
                     }
                 }
             }
-            else {
-                throw new ExpressionException("Invalid symbol");
+            return stack[0];
+        }
+
+        /**
+         * @return The names of the variables, in order of first appearance
+         */
+        public String[] variables() {
+            return variables.clone();
+        }
+
+        /**
+         * @return The largest number of operands on the stack at once
+         */
+        public int maxStackDepth() {
+            return maxStackDepth;
+        }
+
+        /**
+         * Returns the opcode of an operator, one of '+', '-', '*', '/'.
+         */
+        static int opcode(char operator) {
+            switch(operator) {
+                case '+':
+                    return ADD;
+                case '-':
+                    return SUB;
+                case '*':
+                    return MUL;
+                default:
+                    return DIV;
             }
+        }
 
+        /**
+         * Builds the expression as a tree of method handles of type
+         * (int[])int: constants and variables are the leaves, and each
+         * operator filters its two arguments through the handles of its
+         * operands. The result is best stored in a static final field, where
+         * the JIT compiler treats the handles as constants and inlines them.
+         *
+         * If the expression is too large, or the handles cannot be built,
+         * this compiled expression itself is returned, so the caller always
+         * gets a working formula.
+         *
+         * @return A formula evaluating the same expression
+         */
+        public IntFormula toMethodHandles() {
+            if(code.length > 2 * MAX_METHOD_HANDLE_OPERATIONS) {
+                return this;
+            }
+            try {
+                return new MethodHandleFormula(buildMethodHandle(), variables.length);
+            } catch(ReflectiveOperationException | RuntimeException e) {
+                return this;
+            }
         }
-        if(stack.size() > 1) {
-            throw new ExpressionException("To many operands");
+
+        /**
+         * Runs the opcodes on a stack of method handles instead of values.
+         */
+        private MethodHandle buildMethodHandle() throws ReflectiveOperationException {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType operatorType = MethodType.methodType(int.class, int.class, int.class);
+            MethodHandle getter = MethodHandles.arrayElementGetter(int[].class);
+            MethodHandle[] stack = new MethodHandle[maxStackDepth];
+            int sp = 0;
+            for(int pc = 0; pc < code.length; pc++) {
+                switch(code[pc]) {
+                    case PUSH: {
+                        MethodHandle constant = MethodHandles.constant(int.class, code[++pc]);
+                        stack[sp++] = MethodHandles.dropArguments(constant, 0, int[].class);
+                        break;
+                    }
+                    case LOAD: {
+                        stack[sp++] = MethodHandles.insertArguments(getter, 1, code[++pc]);
+                        break;
+                    }
+                    default: {
+                        String name = OPERATOR_METHODS[code[pc] - ADD];
+                        MethodHandle operator = lookup.findStatic(
+                            CompiledExpression.class, name, operatorType);
+                        sp--;
+                        // (int, int)int -> (int[], int[])int -> (int[])int
+                        MethodHandle applied = MethodHandles.filterArguments(
+                            operator, 0, stack[sp-1], stack[sp]);
+                        stack[sp-1] = MethodHandles.permuteArguments(
+                            applied, FORMULA_TYPE, 0, 0);
+                        break;
+                    }
+                }
+            }
+            return stack[0];
+        }
+
+        private static int add(int b, int a) {
+            return b + a;
+        }
+
+        private static int sub(int b, int a) {
+            return b - a;
+        }
+
+        private static int mul(int b, int a) {
+            return b * a;
+        }
+
+        private static int div(int b, int a) throws ExpressionException {
+            if(a == 0) {
+                throw new ExpressionException("Undifined");
+            }
+            return b / a;
         }
-        return stack.top();
     }
 
     /**
-     * Returns true if s is an operator.
-     *
-     * A word of caution on using the String.matches method: it returns true
-     * if and only if the whole given string matches the regex. Therefore
-     * using the regex "[0-9]" is equivalent to "^[0-9]$".
-     *
-     * An operator is one of '+', '-', '*', '/'.
+     * A formula evaluated by a method handle of type (int[])int.
      */
-    private static boolean isOperator(String s) {
-        if(s.length() == 1) {
-            if(s.matches("[+\\-*/]")) {
-                return true;
+    private static final class MethodHandleFormula implements IntFormula {
+        private final MethodHandle handle;
+        private final int variableCount;
+
+        MethodHandleFormula(MethodHandle handle, int variableCount) {
+            this.handle = handle;
+            this.variableCount = variableCount;
+        }
+
+        public int evaluate(int... values) throws ExpressionException {
+            if(values.length != variableCount) {
+                throw new IllegalArgumentException("expected " + variableCount
+                    + " values! Provided: " + values.length);
+            }
+            try {
+                return (int) handle.invokeExact(values);
+            } catch(ExpressionException | RuntimeException | Error e) {
+                throw e;
+            } catch(Throwable e) {
+                // The handles only call the operator methods above.
+                throw new AssertionError(e);
             }
         }
-        return false;
     }
 
     /**
-     * Returns true if s is an integer.
+     * Pops two operands, applies the operator to them and pushes the result.
      *
-     * A word of caution on using the String.matches method: it returns true
-     * if and only if the whole given string matches the regex. Therefore
-     * using the regex "[0-9]" is equivalent to "^[0-9]$".
+     * @param operator  One of '+', '-', '*', '/'
+     * @param stack     The operand stack
+     * @throws          ExpressionException if there are fewer than two
+     *                  operands, or on division by zero
+     */
+    private static void apply(char operator, IntStack stack) throws ExpressionException {
+        if(stack.size() < 2) {
+            throw new ExpressionException("To few operands");
+        }
+        int a = stack.popInt();
+        int b = stack.popInt();
+        switch(operator) {
+            case '+': {
+                stack.push(b+a);
+                break;
+            }
+            case '-': {
+                stack.push(b-a);
+                break;
+            }
+            case '*': {
+                stack.push(b*a);
+                break;
+            }
+            case '/': {
+                if(a == 0) {
+                    throw new ExpressionException("Undifined");
+                }
+                stack.push(b/a);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Parses the integer between the indices from (inclusive) and to
+     * (exclusive), in one pass.
      *
      * We accept two types of integers:
      *
@@ -114,11 +621,130 @@ public class Postfix extends LinkedList<Integer> {
      *
      * - the second type consists of an optional '-'
      *   followed by a single '0'.
+     *
+     * A token that is not digits with an optional '-' is an invalid symbol,
+     * even if it starts with a zero or is too large, so the value is
+     * accumulated (negatively, as Integer.parseInt does, to reach
+     * Integer.MIN_VALUE) and the errors are decided after the whole token
+     * is read.
+     *
+     * @throws ExpressionException if the token is not an integer, has a
+     *         leading zero, or does not fit in an int
+     */
+    private static int parseInteger(CharSequence expr, int from, int to)
+            throws ExpressionException {
+        boolean negative = expr.charAt(from) == '-';
+        int firstDigit = negative ? from + 1 : from;
+        if(firstDigit == to) {
+            throw new ExpressionException("Invalid symbol");
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        boolean overflow = false;
+        for(int i = firstDigit; i < to; i++) {
+            int digit = expr.charAt(i) - '0';
+            if(digit < 0 || digit > 9) {
+                throw new ExpressionException("Invalid symbol");
+            }
+            if(result < limit / 10 || result * 10 < limit + digit) {
+                overflow = true;
+            } else {
+                result = result * 10 - digit;
+            }
+        }
+        if(to - firstDigit > 1 && expr.charAt(firstDigit) == '0') {
+            throw new ExpressionException("Leading 0");
+        }
+        if(overflow) {
+            throw new ExpressionException("Integer overflow");
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Returns the index of the first character of expr that String.trim
+     * would keep, that is the first one after any control characters and
+     * spaces.
+     *
+     * @throws ExpressionException if expr is empty
+     */
+    private static int trimmedStart(CharSequence expr) throws ExpressionException {
+        if(expr.length() == 0) {
+            throw new ExpressionException("Empty string");
+        }
+        int start = 0;
+        while(start < expr.length() && expr.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character of expr that String.trim
+     * would keep.
+     *
+     * @throws ExpressionException if expr has no such characters
+     */
+    private static int trimmedEnd(CharSequence expr, int start) throws ExpressionException {
+        int end = expr.length();
+        while(end > start && expr.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if(start == end) {
+            throw new ExpressionException("Invalid symbol");
+        }
+        return end;
+    }
+
+    /**
+     * Returns the index after the token starting at from, which is the next
+     * whitespace or end.
      */
-    private static boolean isInteger(String s) {
-        if(s.matches("-?\\d+")) {
-            return true;
+    private static int tokenEnd(CharSequence expr, int from, int end) {
+        int tokenEnd = from + 1;
+        while(tokenEnd < end && !isWhitespace(expr.charAt(tokenEnd))) {
+            tokenEnd++;
+        }
+        return tokenEnd;
+    }
+
+    /**
+     * Returns the variable name between the indices from (inclusive) and to
+     * (exclusive), which starts with an identifier start character.
+     *
+     * @throws ExpressionException if the token is not an identifier
+     */
+    private static String parseIdentifier(CharSequence expr, int from, int to)
+            throws ExpressionException {
+        for(int i = from + 1; i < to; i++) {
+            char c = expr.charAt(i);
+            if(!isIdentifierStart(c) && (c < '0' || c > '9')) {
+                throw new ExpressionException("Invalid symbol");
+            }
         }
-        return false;
+        return expr.subSequence(from, to).toString();
+    }
+
+    /**
+     * Returns true if c may start a variable name: an ASCII letter or '_'.
+     */
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    /**
+     * Returns true if c is an operator, one of '+', '-', '*', '/'.
+     */
+    private static boolean isOperator(char c) {
+        return c == '+' || c == '-' || c == '*' || c == '/';
+    }
+
+    /**
+     * Returns true if c separates tokens, which is the same set of
+     * characters as the regex "\\s": space, tab, newline, vertical tab,
+     * form feed and carriage return.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 }
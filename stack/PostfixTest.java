@@ -7,6 +7,10 @@ import static org.junit.Assert.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
 import java.util.Arrays;
 /**
  * Test class for Postfix
@@ -192,6 +196,220 @@ public class PostfixTest {
         Postfix.evaluate("1 0 /");
     }
 
+    @Test
+    public void evaluateIsCorrectForIntegerLimits() throws Exception {
+        assertThat(Postfix.evaluate("2147483647"), equalTo(Integer.MAX_VALUE));
+        assertThat(Postfix.evaluate("-2147483648"), equalTo(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void evaluateExceptionWhenIntDoesNotFit() {
+        String[] expressions = {"2147483648", "-2147483649", "1 99999999999 +"};
+        assertExpressionExceptionOnAll(expressions);
+    }
+
+    @Test
+    public void evaluateExceptionWhenExprIsOnlyWhitespace() {
+        String[] expressions = {" ", "\t\n"};
+        assertExpressionExceptionOnAll(expressions);
+    }
+
+    @Test
+    public void evaluateAcceptsAnyCharSequence() throws Exception {
+        StringBuilder expression = new StringBuilder("6 7").append(" *");
+        assertThat(Postfix.evaluate(expression), equalTo(42));
+    }
+
+    @Test(timeout=1000)
+    public void evaluateOfHundredThousandTokensIsReasonablyFast() throws Exception {
+        // Arrange
+        StringBuilder expression = new StringBuilder("0");
+        int numOperands = 50000;
+        for (int i = 1; i < numOperands; i++) {
+            expression.append(' ').append(i).append(" +");
+        }
+
+        // Act
+        int actual = Postfix.evaluate(expression);
+
+        // Assert
+        assertThat(actual, equalTo((int) ((long) numOperands * (numOperands - 1) / 2)));
+    }
+
+    @Test
+    public void compiledExpressionIsSameAsEvaluate() throws Exception {
+        String[] expressions = {"1 2 3 4 -0 + * - +", "12 34 - 56 -78 + *",
+            "1 2 + 3 * 4 - 5 /", "-2147483648", " 1 23 +    "};
+        for (String expr : expressions) {
+            Postfix.CompiledExpression compiled = Postfix.compile(expr);
+            assertThat(compiled.evaluate(), equalTo(Postfix.evaluate(expr)));
+            assertThat(compiled.variables().length, equalTo(0));
+        }
+    }
+
+    @Test
+    public void compiledExpressionBindsVariablesInOrderOfFirstAppearance() throws Exception {
+        // Arrange
+        Postfix.CompiledExpression compiled = Postfix.compile("y x - y *");
+
+        // Act, Assert
+        assertThat(Arrays.asList(compiled.variables()), equalTo(Arrays.asList("y", "x")));
+        assertThat(compiled.evaluate(5, 3), equalTo((5 - 3) * 5));
+        assertThat(compiled.evaluate(-1, 10), equalTo((-1 - 10) * -1));
+    }
+
+    @Test
+    public void compiledExpressionHasMaxStackDepth() throws Exception {
+        assertThat(Postfix.compile("1").maxStackDepth(), equalTo(1));
+        assertThat(Postfix.compile("1 2 + 3 +").maxStackDepth(), equalTo(2));
+        assertThat(Postfix.compile("1 2 3 4 + + +").maxStackDepth(), equalTo(4));
+    }
+
+    @Test(expected = Postfix.ExpressionException.class)
+    public void compiledExpressionExceptionOnDivideByZero() throws Exception {
+        Postfix.compile("a b /").evaluate(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compiledExpressionExceptionWhenValuesAreMissing() throws Exception {
+        Postfix.compile("a b /").evaluate(1);
+    }
+
+    @Test
+    public void compileExceptionWhenExprIsWrong() {
+        String[] expressions = {"", " ", "1 +", "1 2 3 +", "017", "1 2 ,",
+            "x$ 1 +", "1x", "2147483648"};
+        for (String expr : expressions) {
+            try {
+                Postfix.compile(expr);
+                fail("Expected ExpressionException on input: " + expr);
+            } catch (Postfix.ExpressionException e) {
+                // Exception thrown, all good!
+            }
+        }
+    }
+
+    @Test
+    public void methodHandleFormulaIsSameAsCompiledExpression() throws Exception {
+        // Arrange
+        Postfix.CompiledExpression compiled = Postfix.compile("a b + 7 * c - 5 / a -8 - *");
+        Postfix.IntFormula formula = compiled.toMethodHandles();
+
+        // Act, Assert
+        assertThat(formula, not(sameInstance((Postfix.IntFormula) compiled)));
+        for (int a = -3; a <= 3; a++) {
+            for (int c = -3; c <= 3; c++) {
+                assertThat(formula.evaluate(a, 2, c), equalTo(compiled.evaluate(a, 2, c)));
+            }
+        }
+        assertThat(Postfix.compile("42").toMethodHandles().evaluate(), equalTo(42));
+    }
+
+    @Test(expected = Postfix.ExpressionException.class)
+    public void methodHandleFormulaExceptionOnDivideByZero() throws Exception {
+        Postfix.compile("a b /").toMethodHandles().evaluate(1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void methodHandleFormulaExceptionWhenValuesAreMissing() throws Exception {
+        Postfix.compile("a b /").toMethodHandles().evaluate(1);
+    }
+
+    @Test
+    public void methodHandlesFallBackToInterpreterForLargeExpressions() throws Exception {
+        // Arrange
+        StringBuilder expression = new StringBuilder("x");
+        for (int i = 0; i < 10000; i++) {
+            expression.append(" 1 +");
+        }
+        Postfix.CompiledExpression compiled = Postfix.compile(expression);
+
+        // Act
+        Postfix.IntFormula formula = compiled.toMethodHandles();
+
+        // Assert
+        assertThat(formula, sameInstance((Postfix.IntFormula) compiled));
+        assertThat(formula.evaluate(5), equalTo(10005));
+    }
+
+    @Test
+    public void evaluateExceptionWhenExprContainsVariables() {
+        String[] expressions = {"x", "1 x +", "_a 2 *"};
+        assertExpressionExceptionOnAll(expressions);
+    }
+
+    @Test
+    public void evaluateOfReaderAndChannelIsSameAsEvaluateOfString() throws Exception {
+        String[] expressions = {"1 2 3 4 -0 + * - +", " 1 23 +    ", "1\t23\n+",
+            "-2147483648", "", " ", "1 +", "1 2 3 +", "017", "1 2 ,", "1 0 /",
+            "2147483648", "1 2 +\u0001", "1 2 +\u0001 3"};
+        for (String expr : expressions) {
+            String expected = evaluateToString(() -> Postfix.evaluate(expr));
+            String fromReader = evaluateToString(
+                () -> Postfix.evaluate(new StringReader(expr)));
+            String fromChannel = evaluateToString(() -> Postfix.evaluate(
+                Channels.newChannel(new ByteArrayInputStream(expr.getBytes("UTF-8")))));
+            assertThat(expr, fromReader, equalTo(expected));
+            assertThat(expr, fromChannel, equalTo(expected));
+        }
+    }
+
+    @Test
+    public void evaluateOfReaderStreamsLongInput() throws Exception {
+        // Arrange
+        // About 80 million characters, generated as they are read: "0 1 + 1 + 1 + ..."
+        int numOperators = 20000000;
+        Reader in = new Reader() {
+            private final char[] chunk = " 1 +".toCharArray();
+            private long position = -1;
+            private final long length = 4L * numOperators;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (position == -1) {
+                    buffer[offset] = '0';
+                    position = 0;
+                    return 1;
+                }
+                int n = (int) Math.min(length, this.length - position);
+                if (n <= 0) {
+                    return -1;
+                }
+                for (int i = 0; i < n; i++) {
+                    buffer[offset + i] = chunk[(int) ((position + i) % 4)];
+                }
+                position += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // Act
+        int actual = Postfix.evaluate(in);
+
+        // Assert
+        assertThat(actual, equalTo(numOperators));
+    }
+
+    /**
+     * Evaluates an expression and returns its value, or the message of the
+     * ExpressionException it throws, as a string.
+     */
+    private static String evaluateToString(Evaluation evaluation) throws Exception {
+        try {
+            return Integer.toString(evaluation.evaluate());
+        } catch (Postfix.ExpressionException e) {
+            return "ExpressionException: " + e.getMessage();
+        }
+    }
+
+    private interface Evaluation {
+        int evaluate() throws Exception;
+    }
+
     /**
      * Assert that every expression in expressions causes Postfix.evaluate to
      * throw an ExpressionException.